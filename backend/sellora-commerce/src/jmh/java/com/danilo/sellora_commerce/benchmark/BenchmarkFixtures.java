@@ -0,0 +1,98 @@
+package com.danilo.sellora_commerce.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.danilo.sellora_commerce.dtos.UserDTO;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+
+/**
+ * Dados de exemplo compartilhados pelos benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private static final int DISTINCT_PRODUCTS = 50;
+
+    private BenchmarkFixtures() {
+    }
+
+    static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Produto " + id);
+        product.setPrice(Money.parse("19.90").plus(Money.ofCents(id % 100 * 100)));
+        product.setDescription("Descrição do produto " + id + " com alguns detalhes técnicos");
+        product.setImageUrl("https://meusite.com/imagens/produto" + id + ".jpg");
+        return product;
+    }
+
+    static List<OrderItem> orderItems(int count) {
+        List<Product> products = new ArrayList<>(DISTINCT_PRODUCTS);
+        for (int i = 1; i <= DISTINCT_PRODUCTS; i++) {
+            products.add(product(i));
+        }
+
+        List<OrderItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderItem item = new OrderItem();
+            item.setId((long) i + 1);
+            item.setProduct(products.get(i % DISTINCT_PRODUCTS));
+            item.setQuantity(1 + i % 5);
+            item.calculateSubtotal();
+            items.add(item);
+        }
+        return items;
+    }
+
+    static Order order(List<OrderItem> items) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setUser(user());
+        order.setStatus(OrderStatus.PENDING);
+        for (OrderItem item : items) {
+            order.addItem(item);
+        }
+        return order;
+    }
+
+    static List<Order> orders(int count, int itemsPerOrder) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = order(orderItems(itemsPerOrder));
+            order.setId((long) i + 1);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setFullName("Danilo Alves");
+        user.setUsername("danilo123");
+        user.setEmail("danilo@email.com");
+        user.setPassword("******");
+        user.setPhone("+55 11 91234-5678");
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument("12345678909");
+        return user;
+    }
+
+    static UserDTO userDTO() {
+        User user = user();
+        return new UserDTO(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getDocument(),
+                user.getFullName(),
+                user.getUserType());
+    }
+}
@@ -0,0 +1,77 @@
+package com.danilo.sellora_commerce.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.danilo.sellora_commerce.dtos.CursorPage;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Corpo de GET /api/orders e GET /api/products em cada formato aceito pela API, com os mesmos
+ * ObjectMappers que o Spring MVC monta para os conversores (com e sem Blackbird).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Param({ "json", "json-blackbird", "cbor", "cbor-blackbird" })
+    private String encoding;
+
+    @Param({ "50", "500" })
+    private int count;
+
+    private ObjectMapper objectMapper;
+
+    private List<Order> orders;
+
+    private CursorPage<Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = encoding.startsWith("cbor")
+                ? Jackson2ObjectMapperBuilder.cbor()
+                : Jackson2ObjectMapperBuilder.json();
+        objectMapper = builder.build();
+        if (encoding.endsWith("blackbird")) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        orders = BenchmarkFixtures.orders(count, ITEMS_PER_ORDER);
+        products = new CursorPage<>(
+                BenchmarkFixtures.orderItems(count).stream().map(item -> BenchmarkFixtures.product(item.getId())).toList(),
+                (long) count);
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws IOException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] serializeProducts() throws IOException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+}
@@ -0,0 +1,76 @@
+package com.danilo.sellora_commerce.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+
+/**
+ * Cálculo de preços do pedido: subtotal por item, total do pedido (com e sem recalcular os itens) e montagem item a item.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({ "1", "10", "100", "1000", "10000" })
+    private int itemCount;
+
+    private List<OrderItem> items;
+
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = BenchmarkFixtures.orderItems(itemCount);
+        order = BenchmarkFixtures.order(items);
+    }
+
+    @Benchmark
+    public void calculateSubtotal(Blackhole blackhole) {
+        for (OrderItem item : items) {
+            item.calculateSubtotal();
+            blackhole.consume(item.getSubtotal());
+        }
+    }
+
+    @Benchmark
+    public Money calculateTotals() {
+        order.calculateTotals();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public Money recalculateTotal() {
+        order.recalculateTotal();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public Order addItem() {
+        Order built = new Order();
+        for (OrderItem item : items) {
+            built.addItem(item);
+        }
+        return built;
+    }
+}
@@ -0,0 +1,87 @@
+package com.danilo.sellora_commerce.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.danilo.sellora_commerce.service.ProductSearchService;
+
+/**
+ * Latência da busca textual sobre um catálogo sintético. Os termos seguem uma distribuição
+ * enviesada (poucos muito frequentes, muitos raros), como num catálogo real.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+
+    @Param({ "1000000" })
+    private int productCount;
+
+    private ProductSearchService searchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        searchService = new ProductSearchService();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= productCount; id++) {
+            searchService.index(id, words(random, 4), words(random, 12));
+        }
+    }
+
+    @Benchmark
+    public List<Long> commonTerm() {
+        return searchService.searchIds(word(3), 20);
+    }
+
+    @Benchmark
+    public List<Long> rareTerm() {
+        return searchService.searchIds(word(15_000), 20);
+    }
+
+    @Benchmark
+    public List<Long> twoTerms() {
+        return searchService.searchIds(word(40) + " " + word(900), 20);
+    }
+
+    @Benchmark
+    public List<Long> prefixAsYouType() {
+        return searchService.searchIds(word(120) + " " + word(2_000).substring(0, 3), 20);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return searchService.suggest(word(50).substring(0, 2), 10);
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            double skewed = Math.pow(random.nextDouble(), 3);
+            text.append(word((int) (skewed * VOCABULARY))).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String word(int index) {
+        return Integer.toString(46_656 + index * 7919 % 1_000_003, 36);
+    }
+}
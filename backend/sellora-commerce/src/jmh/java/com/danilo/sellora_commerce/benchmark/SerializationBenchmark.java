@@ -0,0 +1,80 @@
+package com.danilo.sellora_commerce.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.danilo.sellora_commerce.dtos.UserDTO;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Serialização Jackson dos objetos retornados pelos controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "1", "100", "10000" })
+    private int itemCount;
+
+    private ObjectMapper objectMapper;
+
+    private Order order;
+
+    private Product product;
+
+    private List<Product> products;
+
+    private UserDTO userDTO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        order = BenchmarkFixtures.order(BenchmarkFixtures.orderItems(itemCount));
+        product = BenchmarkFixtures.product(1);
+        products = BenchmarkFixtures.orderItems(itemCount).stream()
+                .map(item -> BenchmarkFixtures.product(item.getId()))
+                .toList();
+        userDTO = BenchmarkFixtures.userDTO();
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] serializeProductList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeUserDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userDTO);
+    }
+}
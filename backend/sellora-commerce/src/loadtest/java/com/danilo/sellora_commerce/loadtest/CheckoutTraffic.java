@@ -0,0 +1,203 @@
+package com.danilo.sellora_commerce.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Requisições do fluxo de compra contra a API real: navegação paginada, detalhe de produto, cadastro,
+ * criação de pedido e avanço de status (PENDING → PROCESSING → SHIPPED → DELIVERED → COMPLETED).
+ * Os pedidos abertos ficam em uma fila; cada um é avançado por no máximo uma requisição por vez.
+ * Cada requisição sai em nome de um dos {@code CLIENTS} clientes simulados (cabeçalho X-Client-Id), para que o
+ * limite por cliente da aplicação se aplique como em produção e não à carga inteira como um único cliente.
+ */
+final class CheckoutTraffic {
+
+    private static final int SEED_PRODUCTS = 200;
+    private static final int CLIENTS = 50;
+    private static final int SEED_USERS = 100;
+    private static final int SEED_ORDERS = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong userSequence = new AtomicLong();
+    private final Queue<OpenOrder> openOrders = new ConcurrentLinkedQueue<>();
+    private long[] productIds;
+    private long[] userIds;
+
+    private record OpenOrder(long id, OrderStatus status) {
+    }
+
+    CheckoutTraffic(HttpClient client, URI baseUri) {
+        this.client = client;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Cadastra o catálogo, os clientes e os pedidos iniciais usados pelas operações.
+     */
+    void seed() throws IOException, InterruptedException {
+        productIds = new long[SEED_PRODUCTS];
+        for (int i = 0; i < SEED_PRODUCTS; i++) {
+            ObjectNode product = mapper.createObjectNode()
+                    .put("name", "Produto " + (i + 1))
+                    .put("description", "Produto de teste de carga")
+                    .put("price", (990 + i * 137 % 50_000) / 100.0);
+            productIds[i] = idOf(send(post("/api/products", product)));
+        }
+        userIds = new long[SEED_USERS];
+        for (int i = 0; i < SEED_USERS; i++) {
+            userIds[i] = idOf(send(post("/users", newUser())));
+        }
+        for (int i = 0; i < SEED_ORDERS; i++) {
+            HttpResponse<byte[]> response = send(post("/api/orders", newOrder()));
+            openOrders.add(new OpenOrder(idOf(response), OrderStatus.PENDING));
+        }
+    }
+
+    String describeSeed() {
+        return "products=" + SEED_PRODUCTS + " users=" + SEED_USERS + " orders=" + SEED_ORDERS + " page-size=" + PAGE_SIZE;
+    }
+
+    /**
+     * Executa uma operação e devolve o status HTTP da resposta, já lida por completo.
+     *
+     * @throws IllegalStateException em update-status quando não há pedido aberto para avançar
+     */
+    int execute(Endpoint endpoint) throws IOException, InterruptedException {
+        return switch (endpoint) {
+            case BROWSE -> browse();
+            case VIEW_PRODUCT -> client.send(get("/api/products/" + randomProduct()), HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+            case CREATE_USER -> client.send(post("/users", newUser()), HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+            case CREATE_ORDER -> createOrder();
+            case UPDATE_STATUS -> advanceOrder();
+        };
+    }
+
+    private int browse() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // um quinto das navegações começa na primeira página; as demais continuam de um cursor qualquer
+        String path = "/api/products?size=" + PAGE_SIZE;
+        if (random.nextInt(5) != 0) {
+            path += "&after=" + randomProduct();
+        }
+        return client.send(get(path), HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+
+    private int createOrder() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(post("/api/orders", newOrder()), HttpResponse.BodyHandlers.ofByteArray());
+        if (isSuccess(response)) {
+            openOrders.add(new OpenOrder(idOf(response), OrderStatus.PENDING));
+        }
+        return response.statusCode();
+    }
+
+    private int advanceOrder() throws IOException, InterruptedException {
+        OpenOrder order = openOrders.poll();
+        if (order == null) {
+            throw new IllegalStateException("nenhum pedido aberto");
+        }
+        OrderStatus next = order.status().nextStatuses().stream()
+                .filter(status -> status != OrderStatus.CANCELED)
+                .findFirst()
+                .orElseThrow();
+        ObjectNode body = mapper.createObjectNode().put("status", next.name());
+        HttpRequest request = request("/api/orders/" + order.id() + "/status")
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (isSuccess(response) && !next.nextStatuses().isEmpty()) {
+            openOrders.add(new OpenOrder(order.id(), next));
+        }
+        return response.statusCode();
+    }
+
+    private ObjectNode newUser() {
+        long n = userSequence.incrementAndGet();
+        ObjectNode user = mapper.createObjectNode()
+                .put("fullName", "Cliente " + n)
+                .put("username", "loadtest" + n)
+                .put("email", "loadtest" + n + "@sellora.test")
+                .put("password", "loadtest")
+                .put("phone", String.format("+55 11 9%08d", n))
+                .put("userType", UserType.CUSTOMER.name())
+                .put("document", String.format("%011d", n));
+        user.putObject("address")
+                .put("street", "Rua Teste")
+                .put("number", String.valueOf(n))
+                .put("city", "São Paulo")
+                .put("state", "SP")
+                .put("country", "Brasil")
+                .put("zipCode", "01000-000");
+        return user;
+    }
+
+    private ObjectNode newOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode order = mapper.createObjectNode().put("status", OrderStatus.PENDING.name());
+        order.putObject("user").put("id", userIds[random.nextInt(userIds.length)]);
+        ArrayNode items = order.putArray("orderItems");
+        int itemCount = 1 + random.nextInt(3);
+        for (int i = 0; i < itemCount; i++) {
+            ObjectNode item = items.addObject().put("quantity", 1 + random.nextInt(3));
+            item.putObject("product").put("id", randomProduct());
+        }
+        return order;
+    }
+
+    private long randomProduct() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, ObjectNode body) throws IOException {
+        return request(path).POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body))).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("X-Client-Id", "loadtest-" + ThreadLocalRandom.current().nextInt(CLIENTS));
+    }
+
+    /**
+     * Usado na carga inicial: qualquer falha interrompe o teste antes da medição.
+     */
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (!isSuccess(response)) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " respondeu "
+                    + response.statusCode() + ": " + new String(response.body()));
+        }
+        return response;
+    }
+
+    private long idOf(HttpResponse<byte[]> response) throws IOException {
+        return mapper.readTree(response.body()).path("id").asLong();
+    }
+
+    static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
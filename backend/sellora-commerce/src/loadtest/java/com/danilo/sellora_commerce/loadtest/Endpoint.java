@@ -0,0 +1,38 @@
+package com.danilo.sellora_commerce.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Operações do tráfego de checkout. O nome curto é o usado em loadtest.mix.
+ */
+enum Endpoint {
+
+    BROWSE("browse", "GET /api/products"),
+    VIEW_PRODUCT("view", "GET /api/products/{id}"),
+    CREATE_USER("create-user", "POST /users"),
+    CREATE_ORDER("create-order", "POST /api/orders"),
+    UPDATE_STATUS("update-status", "PATCH /api/orders/{id}/status");
+
+    private final String key;
+    private final String label;
+
+    Endpoint(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Endpoint fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Operação desconhecida em loadtest.mix: " + key));
+    }
+}
@@ -0,0 +1,106 @@
+package com.danilo.sellora_commerce.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latência por operação em histogramas HDR (microssegundos, 3 dígitos significativos).
+ *
+ * A latência é medida a partir do instante em que a requisição deveria ter saído pelo agendamento,
+ * não de quando saiu: se o cliente ou o servidor atrasam, a fila entra no número (sem coordinated omission).
+ * Só respostas 2xx entram no histograma; as demais contam como erro, com o motivo.
+ */
+final class LatencyRecorder {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    private static final class EndpointStats {
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<String, LongAdder> errorReasons = new ConcurrentHashMap<>();
+    }
+
+    LatencyRecorder(Iterable<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    void recordSuccess(Endpoint endpoint, long latencyNanos) {
+        stats.get(endpoint).histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    void recordError(Endpoint endpoint, String reason) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        endpointStats.errors.increment();
+        endpointStats.errorReasons.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    Histogram total() {
+        Histogram total = new Histogram(3);
+        stats.values().forEach(endpointStats -> total.add(endpointStats.histogram));
+        return total;
+    }
+
+    long errors() {
+        return stats.values().stream().mapToLong(endpointStats -> endpointStats.errors.sum()).sum();
+    }
+
+    /**
+     * Resumo por operação seguido da distribuição completa de cada histograma (formato .hgrm, em ms).
+     * O arquivo não tem data nem caminhos, para que duas execuções possam ser comparadas com diff.
+     */
+    void write(Path output, String header, double measuredSeconds) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (OutputStream stream = Files.newOutputStream(output);
+                PrintStream out = new PrintStream(stream, false, StandardCharsets.UTF_8)) {
+            out.println(header);
+            out.println();
+            out.printf(Locale.ROOT, "%-32s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "ok", "errors", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            stats.forEach((endpoint, endpointStats) -> summaryLine(out, endpoint.label(), endpointStats.histogram,
+                    endpointStats.errors.sum(), measuredSeconds));
+            summaryLine(out, "total", total(), errors(), measuredSeconds);
+
+            stats.forEach((endpoint, endpointStats) -> {
+                if (endpointStats.errors.sum() > 0) {
+                    out.println();
+                    out.println("errors " + endpoint.label() + ": " + new TreeMap<>(endpointStats.errorReasons));
+                }
+            });
+            stats.forEach((endpoint, endpointStats) -> {
+                out.println();
+                out.println("## " + endpoint.label());
+                endpointStats.histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            });
+        }
+    }
+
+    private static void summaryLine(PrintStream out, String label, Histogram histogram, long errors, double seconds) {
+        out.printf(Locale.ROOT, "%-32s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,160 @@
+package com.danilo.sellora_commerce.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.danilo.sellora_commerce.SelloraCommerceApplication;
+
+/**
+ * Teste de carga em modelo aberto: sobe a aplicação em um H2 próprio, cadastra dados iniciais e dispara
+ * as operações de {@link CheckoutTraffic} na taxa configurada, sem esperar as respostas anteriores.
+ *
+ * Execução: mvn -Ploadtest verify [-Dloadtest.rate=500 -Dloadtest.duration=2m ...]. Argumentos extras em
+ * loadtest.app-args vão para a aplicação (ex.: --sellora.threads.virtual.enabled=true). O relatório é gravado
+ * em loadtest.output e, se p99 ou a taxa de erros passarem dos limites, o processo termina com código 1.
+ *
+ * A semente fixa torna reproduzíveis a sequência de chegadas e a escolha das operações.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        // o restart do DevTools recarregaria a aplicação em outra thread no meio da medição
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SelloraCommerceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:sellora_loadtest",
+                        "spring.h2.console.enabled=false",
+                        // o gerador faz o papel do gateway: os clientes simulados vêm no X-Client-Id
+                        "sellora.ratelimit.trusted-proxies=127.0.0.1,0:0:0:0:0:0:0:1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run(args);
+        int exitCode;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+            CheckoutTraffic traffic = new CheckoutTraffic(client, URI.create("http://localhost:" + port));
+            traffic.seed();
+
+            System.out.println("Teste de carga: " + settings.describe());
+            LatencyRecorder recorder = run(settings, traffic, executor);
+
+            String header = "# sellora load test\n# " + settings.describe() + "\n# seed data: " + traffic.describeSeed();
+            recorder.write(settings.output(), header, settings.duration().toNanos() / 1e9);
+            System.out.println("Relatório: " + settings.output().toAbsolutePath());
+            exitCode = check(settings, recorder) ? 0 : 1;
+        } finally {
+            SpringApplication.exit(context);
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Agenda as chegadas pelo relógio. Cada requisição roda em uma virtual thread; o aquecimento usa a
+     * mesma taxa e fica fora dos histogramas.
+     */
+    private static LatencyRecorder run(LoadTestSettings settings, CheckoutTraffic traffic, ExecutorService executor)
+            throws InterruptedException {
+        Map<Endpoint, Integer> mix = settings.mix();
+        Endpoint[] endpoints = mix.keySet().toArray(Endpoint[]::new);
+        int[] cumulativeWeights = new int[endpoints.length];
+        int totalWeight = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            totalWeight += mix.get(endpoints[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder(mix.keySet());
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        Random random = new Random(settings.seed());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        for (long next = start; next < end; next += settings.arrivals().nextGapNanos(random, settings.rate())) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int pick = random.nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+            Endpoint endpoint = endpoints[index];
+            boolean measured = next >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    recorder.recordError(endpoint, "dropped (max-in-flight)");
+                }
+                continue;
+            }
+            long scheduledAt = next;
+            executor.execute(() -> {
+                try {
+                    int status = traffic.execute(endpoint);
+                    if (measured) {
+                        if (status / 100 == 2) {
+                            recorder.recordSuccess(endpoint, System.nanoTime() - scheduledAt);
+                        } else {
+                            recorder.recordError(endpoint, "HTTP " + status);
+                        }
+                    }
+                } catch (Exception e) {
+                    if (measured) {
+                        recorder.recordError(endpoint, e.getClass().getSimpleName());
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        // espera as requisições que ainda estão em andamento, até o timeout de cada uma
+        if (!inFlight.tryAcquire(settings.maxInFlight(), 1, TimeUnit.MINUTES)) {
+            System.out.println("Requisições ainda pendentes após 1 minuto: " + (settings.maxInFlight() - inFlight.availablePermits()));
+        }
+        return recorder;
+    }
+
+    private static boolean check(LoadTestSettings settings, LatencyRecorder recorder) {
+        Histogram total = recorder.total();
+        long requests = total.getTotalCount() + recorder.errors();
+        double errorRate = requests == 0 ? 1 : (double) recorder.errors() / requests;
+        double p99 = LatencyRecorder.millis(total, 99);
+        System.out.printf("Total: %d requisições, %.2f%% de erros, p99 %.2f ms%n", requests, errorRate * 100, p99);
+
+        boolean passed = true;
+        if (settings.maxP99() > 0 && p99 > settings.maxP99()) {
+            System.out.printf("FALHOU: p99 %.2f ms acima do limite de %.2f ms%n", p99, settings.maxP99());
+            passed = false;
+        }
+        if (errorRate > settings.maxErrorRate()) {
+            System.out.printf("FALHOU: taxa de erros %.4f acima do limite de %.4f%n", errorRate, settings.maxErrorRate());
+            passed = false;
+        }
+        return passed;
+    }
+}
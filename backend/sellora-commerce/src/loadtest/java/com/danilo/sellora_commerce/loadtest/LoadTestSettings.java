@@ -0,0 +1,100 @@
+package com.danilo.sellora_commerce.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Parâmetros do teste de carga, lidos das propriedades de sistema loadtest.* (valores padrão no profile loadtest do pom).
+ *
+ * @param rate        chegadas por segundo, somando todas as operações
+ * @param arrivals    intervalo entre chegadas: fixo ou exponencial (processo de Poisson)
+ * @param maxInFlight requisições pendentes acima deste número são descartadas e contadas como erro
+ * @param maxP99      limite de p99 em ms para o conjunto das operações (0 desliga)
+ * @param maxErrorRate fração máxima de erros (1 desliga)
+ */
+record LoadTestSettings(
+        double rate,
+        Arrivals arrivals,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        long seed,
+        int maxInFlight,
+        double maxP99,
+        double maxErrorRate,
+        Path output) {
+
+    /**
+     * Modelo aberto: as chegadas seguem o relógio, não o fim das respostas anteriores.
+     */
+    enum Arrivals {
+        CONSTANT,
+        POISSON;
+
+        long nextGapNanos(Random random, double rate) {
+            double meanNanos = 1_000_000_000d / rate;
+            return this == CONSTANT ? Math.round(meanNanos) : Math.round(-Math.log(1 - random.nextDouble()) * meanNanos);
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        LoadTestSettings settings = new LoadTestSettings(
+                Double.parseDouble(property("rate", "200")),
+                Arrivals.valueOf(property("arrivals", "poisson").toUpperCase()),
+                DurationStyle.detectAndParse(property("warmup", "15s")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                parseMix(property("mix", "browse=50,view=30,create-user=5,create-order=10,update-status=5")),
+                Long.parseLong(property("seed", "42")),
+                Integer.parseInt(property("max-in-flight", "2000")),
+                Double.parseDouble(property("max-p99", "0")),
+                Double.parseDouble(property("max-error-rate", "1")),
+                Path.of(property("output", "target/loadtest/report.hgrm")));
+        if (settings.rate <= 0 || settings.duration.isZero() || settings.duration.isNegative()) {
+            throw new IllegalArgumentException("loadtest.rate e loadtest.duration devem ser positivos");
+        }
+        return settings;
+    }
+
+    /**
+     * Ex.: "browse=50,view=30,create-order=20". Operações ausentes não são executadas.
+     */
+    static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida em loadtest.mix: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo em loadtest.mix: " + entry);
+            }
+            if (weight > 0) {
+                mix.put(Endpoint.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix não tem nenhuma operação com peso positivo");
+        }
+        return mix;
+    }
+
+    String describe() {
+        String weights = mix.entrySet().stream()
+                .map(entry -> entry.getKey().key() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+        return "arrivals=" + arrivals.name().toLowerCase() + " rate=" + rate + "/s warmup=" + warmup.toSeconds()
+                + "s duration=" + duration.toSeconds() + "s seed=" + seed + " mix=" + weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
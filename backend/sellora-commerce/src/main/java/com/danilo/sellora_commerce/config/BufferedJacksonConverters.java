@@ -0,0 +1,142 @@
+package com.danilo.sellora_commerce.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Conversores Jackson (JSON e CBOR) que informam o Content-Length das respostas pequenas. Sem o tamanho,
+ * o Tomcat comprime qualquer resposta e server.compression.min-response-size não tem efeito.
+ *
+ * Só os primeiros bytes, até o tamanho mínimo de compressão, ficam em memória: se o corpo terminar antes,
+ * sai com Content-Length e sem compressão; se passar, o que já foi serializado é enviado e o resto segue
+ * em streaming, sem Content-Length, e a resposta é comprimida. Respostas grandes não são copiadas inteiras.
+ * As respostas em streaming (NDJSON/CSV) não passam por esses conversores.
+ */
+final class BufferedJacksonConverters {
+
+    private BufferedJacksonConverters() {
+    }
+
+    /**
+     * Substitui os conversores Jackson padrão, mantendo o mesmo ObjectMapper.
+     *
+     * @param limit bytes guardados em memória antes de passar a escrever direto na resposta
+     */
+    static void install(List<HttpMessageConverter<?>> converters, int limit) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter instanceof MappingJackson2HttpMessageConverter json && !(converter instanceof Json)) {
+                converters.set(i, new Json(json.getObjectMapper(), limit));
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter cbor && !(converter instanceof Cbor)) {
+                converters.set(i, new Cbor(cbor.getObjectMapper(), limit));
+            }
+        }
+    }
+
+    static final class Json extends MappingJackson2HttpMessageConverter {
+
+        private final int limit;
+
+        Json(ObjectMapper objectMapper, int limit) {
+            super(objectMapper);
+            this.limit = limit;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            BufferedMessage buffered = new BufferedMessage(outputMessage, limit);
+            super.writeInternal(object, type, buffered);
+            buffered.finish();
+        }
+    }
+
+    static final class Cbor extends MappingJackson2CborHttpMessageConverter {
+
+        private final int limit;
+
+        Cbor(ObjectMapper objectMapper, int limit) {
+            super(objectMapper);
+            this.limit = limit;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            BufferedMessage buffered = new BufferedMessage(outputMessage, limit);
+            super.writeInternal(object, type, buffered);
+            buffered.finish();
+        }
+    }
+
+    private static final class BufferedMessage extends OutputStream implements HttpOutputMessage {
+
+        private final HttpOutputMessage target;
+        private final int limit;
+        private ByteArrayOutputStream buffer;
+        private OutputStream direct;
+
+        private BufferedMessage(HttpOutputMessage target, int limit) {
+            this.target = target;
+            this.limit = limit;
+            this.buffer = new ByteArrayOutputStream(Math.min(limit, 1024));
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return target.getHeaders();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (direct == null && buffer.size() + length > limit) {
+                // passou do mínimo de compressão: envia o que já tem e continua direto na resposta
+                direct = target.getBody();
+                buffer.writeTo(direct);
+                buffer = null;
+            }
+            if (direct != null) {
+                direct.write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        /**
+         * O Jackson dá flush ao terminar; enquanto o corpo couber no buffer, nada é enviado.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (direct != null) {
+                direct.flush();
+            }
+        }
+
+        private void finish() throws IOException {
+            if (direct == null) {
+                target.getHeaders().setContentLength(buffer.size());
+                buffer.writeTo(target.getBody());
+            }
+            target.getBody().flush();
+        }
+    }
+}
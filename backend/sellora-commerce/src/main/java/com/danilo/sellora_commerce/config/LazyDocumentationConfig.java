@@ -0,0 +1,69 @@
+package com.danilo.sellora_commerce.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Torna lazy os beans do springdoc e do {@link SwaggerConfig}: a documentação OpenAPI só é montada no primeiro
+ * acesso a /v3/api-docs ou /swagger-ui, fora do caminho da subida. Os controllers do springdoc continuam
+ * mapeados, porque o Spring MVC registra os endpoints pelo tipo do bean, sem criá-lo.
+ *
+ * Ignora o @Lazy(false) que o springdoc põe nos próprios beans; só continuam sendo criados na subida os que
+ * implementam InitializingBean ou SmartInitializingSingleton (veja {@link #initializesOnStartup}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "sellora.startup.lazy-docs", havingValue = "true")
+public class LazyDocumentationConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyDocumentationBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isDocumentation(beanFactory, definition) && !initializesOnStartup(beanFactory, name)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * O springdoc marca quase todos os beans com @Lazy(false), mas só os que fazem algo na subida precisam disso:
+     * o SpringDocUIConfiguration, por exemplo, grava a versão do swagger-ui usada nos caminhos de /swagger-ui.
+     */
+    private static boolean initializesOnStartup(ConfigurableListableBeanFactory beanFactory, String name) {
+        Class<?> type = beanFactory.getType(name, false);
+        return type == null || InitializingBean.class.isAssignableFrom(type)
+                || SmartInitializingSingleton.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Beans declarados em classes do springdoc ou do SwaggerConfig, diretamente ou por métodos @Bean.
+     */
+    private static boolean isDocumentation(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+            return false;
+        }
+        String className = definition.getBeanClassName();
+        String factoryBean = definition.getFactoryBeanName();
+        if (className == null && factoryBean != null && beanFactory.containsBeanDefinition(factoryBean)) {
+            className = beanFactory.getBeanDefinition(factoryBean).getBeanClassName();
+        }
+        if (className == null) {
+            return false;
+        }
+        // classes @Configuration já vêm com o nome da subclasse gerada pelo CGLIB
+        int generated = className.indexOf(ClassUtils.CGLIB_CLASS_SEPARATOR);
+        String userClass = generated < 0 ? className : className.substring(0, generated);
+        return userClass.startsWith(SPRINGDOC_PACKAGE) || userClass.equals(SwaggerConfig.class.getName());
+    }
+}
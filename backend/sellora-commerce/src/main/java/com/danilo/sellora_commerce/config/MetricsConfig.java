@@ -0,0 +1,51 @@
+package com.danilo.sellora_commerce.config;
+
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Registra o contador de comandos SQL por requisição no Hibernate e publica as estatísticas
+ * do Hibernate no Micrometer. Latência HTTP e pool de conexões vêm da auto-configuração do Actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            counter(registry, statistics, "hibernate.statements", Statistics::getPrepareStatementCount);
+            counter(registry, statistics, "hibernate.query.executions", Statistics::getQueryExecutionCount);
+            counter(registry, statistics, "hibernate.entities.loads", Statistics::getEntityLoadCount);
+            counter(registry, statistics, "hibernate.entities.fetches", Statistics::getEntityFetchCount);
+            counter(registry, statistics, "hibernate.collections.fetches", Statistics::getCollectionFetchCount);
+            counter(registry, statistics, "hibernate.flushes", Statistics::getFlushCount);
+            counter(registry, statistics, "hibernate.transactions", Statistics::getTransactionCount);
+            Gauge.builder("hibernate.query.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics,
+            String name, ToDoubleFunction<Statistics> value) {
+        FunctionCounter.builder(name, statistics, value).register(registry);
+    }
+}
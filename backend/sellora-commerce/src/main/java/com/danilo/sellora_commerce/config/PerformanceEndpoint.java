@@ -0,0 +1,113 @@
+package com.danilo.sellora_commerce.config;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.danilo.sellora_commerce.dtos.PerformanceReportDTO;
+import com.danilo.sellora_commerce.dtos.PerformanceReportDTO.ConnectionPoolStats;
+import com.danilo.sellora_commerce.dtos.PerformanceReportDTO.EndpointStats;
+import com.danilo.sellora_commerce.dtos.PerformanceReportDTO.HibernateStats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Resumo de desempenho em /actuator/performance: latência por endpoint (p50/p99/p999),
+ * comandos SQL por requisição, estatísticas do Hibernate e espera por conexão no pool.
+ * As séries completas continuam disponíveis em /actuator/metrics.
+ */
+@Component
+@Endpoint(id = "performance")
+public class PerformanceEndpoint {
+
+    private static final String HTTP_REQUESTS = "http.server.requests";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public PerformanceReportDTO report() {
+        return new PerformanceReportDTO(endpoints(), hibernate(), connectionPool());
+    }
+
+    private List<EndpointStats> endpoints() {
+        return meterRegistry.find(HTTP_REQUESTS).timers().stream()
+                .filter(timer -> !timer.getId().getTag("uri").startsWith("/actuator"))
+                .map(this::endpoint)
+                .sorted(Comparator.comparingDouble(EndpointStats::p99Millis).reversed())
+                .toList();
+    }
+
+    private EndpointStats endpoint(Timer timer) {
+        String method = timer.getId().getTag("method");
+        String uri = timer.getId().getTag("uri");
+        HistogramSnapshot latency = timer.takeSnapshot();
+        DistributionSummary queries = meterRegistry.find(RequestMetricsFilter.QUERIES_METRIC)
+                .tag("method", method).tag("uri", uri).summary();
+        return new EndpointStats(method, uri, latency.count(),
+                latency.mean(TimeUnit.MILLISECONDS),
+                percentile(latency, 0.5), percentile(latency, 0.99), percentile(latency, 0.999),
+                latency.max(TimeUnit.MILLISECONDS),
+                queries == null ? 0 : queries.mean(),
+                queries == null ? 0 : queries.max());
+    }
+
+    private HibernateStats hibernate() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return new HibernateStats(
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryExecutionCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getCollectionFetchCount(),
+                statistics.getFlushCount(),
+                statistics.getTransactionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                statistics.getQueryExecutionMaxTimeQueryString());
+    }
+
+    private ConnectionPoolStats connectionPool() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        HistogramSnapshot wait = acquire == null ? HistogramSnapshot.empty(0, 0, 0) : acquire.takeSnapshot();
+        return new ConnectionPoolStats(
+                gauge("hikaricp.connections.active"),
+                gauge("hikaricp.connections.idle"),
+                gauge("hikaricp.connections.pending"),
+                wait.count(),
+                percentile(wait, 0.5),
+                percentile(wait, 0.99),
+                wait.max(TimeUnit.MILLISECONDS),
+                (long) meterRegistry.find("hikaricp.connections.timeout").counters().stream()
+                        .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+}
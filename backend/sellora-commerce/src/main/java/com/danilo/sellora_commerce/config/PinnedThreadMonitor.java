@@ -0,0 +1,73 @@
+package com.danilo.sellora_commerce.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Diagnóstico de pinning: registra quando uma virtual thread fica presa à thread carrier
+ * (bloco synchronized ou código nativo) por mais tempo que o limite configurado.
+ * Usa o evento JFR jdk.VirtualThreadPinned, sem precisar de flags na JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "sellora.threads.virtual.enabled", havingValue = "true")
+public class PinnedThreadMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int STACK_DEPTH = 8;
+
+    private final AtomicLong pinnedCount = new AtomicLong();
+
+    @Value("${sellora.threads.virtual.pinning-threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Monitor de pinning de virtual threads ativo (limite {})", threshold);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        String frames = event.getStackTrace() == null ? "<sem stack>" : event.getStackTrace().getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(PinnedThreadMonitor::formatFrame)
+                .collect(Collectors.joining("\n\tat "));
+        logger.warn("Virtual thread presa à carrier por {} ms\n\tat {}", event.getDuration().toMillis(), frames);
+    }
+
+    private static String formatFrame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.danilo.sellora_commerce.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual.
+ * O {@link RequestMetricsFilter} abre e fecha a contagem em volta de cada requisição. Respostas
+ * assíncronas (ex.: exportação em NDJSON) continuam em outra thread; a contagem da requisição é
+ * levada até ela com {@link #attach} (veja {@link RequestMetricsFilter.AsyncQueryCount}).
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = COUNTER.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static AtomicInteger start() {
+        AtomicInteger counter = new AtomicInteger();
+        COUNTER.set(counter);
+        return counter;
+    }
+
+    public static int stop() {
+        AtomicInteger counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Passa a somar os comandos da thread atual em uma contagem aberta em outra thread.
+     */
+    public static void attach(AtomicInteger counter) {
+        COUNTER.set(counter);
+    }
+
+    public static void detach() {
+        COUNTER.remove();
+    }
+}
@@ -0,0 +1,180 @@
+package com.danilo.sellora_commerce.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.danilo.sellora_commerce.exceptions.StandardError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Controle de admissão nos endpoints de pedidos e usuários, antes de a requisição ocupar thread de
+ * negócio e conexão com o banco:
+ * <ul>
+ * <li>cada cliente tem um {@link TokenBucket}, identificado pelo IP de origem;</li>
+ * <li>as escritas passam por um limite global de concorrência, com espera curta.</li>
+ * </ul>
+ * Requisições recusadas recebem 429 com Retry-After. Um cliente que excede a própria cota é cortado
+ * sem afetar os demais, e a fila de escritas fica limitada aqui em vez de crescer na espera por conexão.
+ *
+ * O cabeçalho sellora.ratelimit.client-header só identifica o cliente quando a requisição vem de um proxy
+ * listado em sellora.ratelimit.trusted-proxies (ex.: um gateway que autentica o cliente e grava o cabeçalho).
+ * Vindo de qualquer outro endereço ele é ignorado: senão bastaria trocar o valor a cada requisição para
+ * ganhar um balde novo.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final int MAX_CLIENT_ID_LENGTH = 128;
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sellora.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sellora.ratelimit.paths:/api/orders/**,/users/**}")
+    private List<String> paths;
+
+    @Value("${sellora.ratelimit.client-header:X-Client-Id}")
+    private String clientHeader;
+
+    @Value("${sellora.ratelimit.trusted-proxies:}")
+    private Set<String> trustedProxies;
+
+    @Value("${sellora.ratelimit.requests-per-second:50}")
+    private double requestsPerSecond;
+
+    @Value("${sellora.ratelimit.burst:100}")
+    private int burst;
+
+    @Value("${sellora.ratelimit.writes.max-concurrent:8}")
+    private int maxConcurrentWrites;
+
+    @Value("${sellora.ratelimit.writes.max-wait:50ms}")
+    private Duration maxWriteWait;
+
+    private List<PathPattern> pathPatterns;
+    private Cache<String, TokenBucket> buckets;
+    private Semaphore writePermits;
+    private Counter rateLimited;
+    private Counter overloaded;
+
+    @PostConstruct
+    public void init() {
+        pathPatterns = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        long refillNanos = new TokenBucket(requestsPerSecond, burst, 0).refillNanos();
+        // um balde sem uso pelo tempo de encher de novo é igual a um novo: pode sair do cache sem mudar o limite
+        buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterAccess(Duration.ofNanos(Math.max(refillNanos, TimeUnit.SECONDS.toNanos(1))))
+                .build();
+        writePermits = new Semaphore(maxConcurrentWrites);
+
+        rateLimited = meterRegistry.counter("sellora.ratelimit.rejected", "reason", "rate");
+        overloaded = meterRegistry.counter("sellora.ratelimit.rejected", "reason", "concurrency");
+        Gauge.builder("sellora.ratelimit.writes.in-flight", writePermits, permits -> maxConcurrentWrites - permits.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("sellora.ratelimit.clients", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long nowNanos = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientId(request), client -> new TokenBucket(requestsPerSecond, burst, nowNanos));
+        long waitNanos = bucket.tryAcquire(nowNanos);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, waitNanos, "Limite de requisições do cliente excedido");
+            return;
+        }
+
+        if (READ_METHODS.contains(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!acquireWritePermit()) {
+            overloaded.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1), "Servidor sobrecarregado, tente novamente em instantes");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            writePermits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return pathPatterns.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String client = trustedProxies.contains(remoteAddr) ? request.getHeader(clientHeader) : null;
+        if (client == null || client.isBlank()) {
+            return "ip:" + remoteAddr;
+        }
+        return "id:" + (client.length() > MAX_CLIENT_ID_LENGTH ? client.substring(0, MAX_CLIENT_ID_LENGTH) : client);
+    }
+
+    private boolean acquireWritePermit() {
+        try {
+            return writePermits.tryAcquire(maxWriteWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Corpo de erro {@link StandardError}, o mesmo do ControllerExceptionHandler; Retry-After em segundos inteiros, no mínimo 1.
+     */
+    private void reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), StandardError.of(status, message));
+    }
+}
@@ -0,0 +1,124 @@
+package com.danilo.sellora_commerce.config;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Réplica de leitura (sellora.datasource.replica.enabled=true).
+ *
+ * O primário continua configurado em spring.datasource.*; a réplica em sellora.datasource.replica.*.
+ * Transações read-only dos services vão para a réplica enquanto o atraso dela estiver abaixo de
+ * sellora.datasource.replica.max-lag; escritas, transações read-write e requisições HTTP que não são
+ * de leitura usam sempre o primário. Sem a propriedade, a aplicação usa só o datasource padrão.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sellora.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("sellora-primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("sellora.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${sellora.datasource.replica.url}") String url,
+            @Value("${sellora.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${sellora.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("sellora-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${sellora.datasource.replica.max-lag:2s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, maxLag, Clock.systemUTC());
+        Gauge.builder("sellora.datasource.replica.lag", monitor,
+                        m -> m.getLagMillis() == Long.MAX_VALUE ? Double.NaN : m.getLagMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("sellora.datasource.replica.available", monitor, m -> m.isReplicaAvailable() ? 1 : 0)
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    /**
+     * DataSource usado por JPA e JdbcTemplate. A conexão só é escolhida no primeiro comando,
+     * quando a transação já foi marcada como read-only (ou não).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+    }
+
+    /**
+     * Requisições de escrita leem do primário do começo ao fim: as consultas feitas antes de gravar
+     * (produtos do pedido, versão atual, estoque) não podem vir de uma réplica atrasada.
+     */
+    @Bean
+    public OncePerRequestFilter primaryForWritesFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                boolean previous = ReplicaRoutingDataSource.pinToPrimary(true);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    ReplicaRoutingDataSource.pinToPrimary(previous);
+                }
+            }
+
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return READ_METHODS.contains(request.getMethod());
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.danilo.sellora_commerce.config;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Mede o atraso da réplica com um heartbeat: a cada verificação grava o horário atual em uma linha
+ * do primário e lê a mesma linha na réplica. Se a réplica ainda não tem o heartbeat da verificação
+ * anterior, o atraso é a idade do último que ela recebeu (a precisão é o intervalo entre verificações).
+ *
+ * Enquanto o atraso passar do limite (ou a réplica não responder), as leituras vão para o primário.
+ * A réplica começa indisponível até a primeira verificação bem-sucedida.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String CREATE_SQL = "create table if not exists replica_heartbeat (id int primary key, beat_millis bigint not null)";
+    static final String SELECT_SQL = "select beat_millis from replica_heartbeat where id = 1";
+    private static final String UPDATE_SQL = "update replica_heartbeat set beat_millis = ? where id = 1";
+    private static final String INSERT_SQL = "insert into replica_heartbeat (id, beat_millis) values (1, ?)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final Clock clock;
+
+    private boolean tableCreated;
+    private long lastBeat;
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile boolean available;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLag.toMillis();
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${sellora.datasource.replica.lag-check-interval-ms:1000}")
+    public synchronized void check() {
+        long now = clock.millis();
+        long lag;
+        try {
+            Long replicated = replica.query(SELECT_SQL, rs -> rs.next() ? rs.getLong(1) : null);
+            if (replicated == null) {
+                lag = Long.MAX_VALUE;
+            } else if (lastBeat > 0 && replicated >= lastBeat) {
+                lag = 0;
+            } else {
+                lag = Math.max(0, now - replicated);
+            }
+        } catch (DataAccessException e) {
+            logger.debug("Falha ao ler o heartbeat da réplica", e);
+            lag = Long.MAX_VALUE;
+        }
+        try {
+            beat(now);
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao gravar o heartbeat da réplica no primário", e);
+        }
+        lagMillis = lag;
+        update(lag <= maxLagMillis, lag);
+    }
+
+    /**
+     * Tira a réplica de uso até a próxima verificação (ex.: falha ao abrir conexão).
+     */
+    public void markUnavailable(Exception cause) {
+        if (available) {
+            logger.warn("Réplica indisponível, leituras voltam ao primário: {}", cause.toString());
+        }
+        available = false;
+    }
+
+    public boolean isReplicaAvailable() {
+        return available;
+    }
+
+    /**
+     * Último atraso medido em milissegundos, ou {@link Long#MAX_VALUE} se a réplica não respondeu.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    private void beat(long now) {
+        if (!tableCreated) {
+            primary.execute(CREATE_SQL);
+            tableCreated = true;
+        }
+        if (primary.update(UPDATE_SQL, now) == 0) {
+            primary.update(INSERT_SQL, now);
+        }
+        lastBeat = now;
+    }
+
+    private void update(boolean nowAvailable, long lag) {
+        if (nowAvailable && !available) {
+            logger.info("Réplica em dia (atraso {} ms), leituras read-only vão para a réplica", lag);
+        } else if (!nowAvailable && available) {
+            logger.warn("Réplica atrasada ({}), leituras voltam ao primário",
+                    lag == Long.MAX_VALUE ? "sem heartbeat" : lag + " ms");
+        }
+        available = nowAvailable;
+    }
+}
@@ -0,0 +1,118 @@
+package com.danilo.sellora_commerce.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Envia transações read-only para a réplica e todo o resto para o primário.
+ *
+ * A réplica só é usada enquanto o {@link ReplicaLagMonitor} a considera em dia; se ela estiver
+ * atrasada, fora do ar ou falhar ao abrir uma conexão, a leitura vai para o primário.
+ * Precisa ficar atrás de um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * o JpaTransactionManager pede a conexão antes de marcar a transação como read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = ThreadLocal.withInitial(() -> false);
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFailures;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+            MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = connections(meterRegistry, Route.PRIMARY);
+        this.replicaConnections = connections(meterRegistry, Route.REPLICA);
+        this.replicaFailures = meterRegistry.counter("sellora.datasource.replica.failures");
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Executa a ação lendo sempre do primário, mesmo dentro de transações read-only.
+     * Para leituras que vão ser gravadas em seguida ou guardadas em memória.
+     * Não troca a conexão de uma transação que já está em andamento.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean previous = pinToPrimary(true);
+        try {
+            return action.get();
+        } finally {
+            pinToPrimary(previous);
+        }
+    }
+
+    static boolean pinToPrimary(boolean pinned) {
+        boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(pinned);
+        return previous;
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PRIMARY_ONLY.get()
+                && lagMonitor.isReplicaAvailable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(target -> target.getConnection(username, password));
+    }
+
+    /**
+     * Abre a conexão no destino da rota atual, voltando ao primário se a réplica falhar.
+     */
+    private Connection connect(ConnectionOpener opener) throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                Connection connection = opener.open(getResolvedDataSources().get(Route.REPLICA));
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaFailures.increment();
+                lagMonitor.markUnavailable(e);
+            }
+        }
+        Connection connection = opener.open(getResolvedDefaultDataSource());
+        primaryConnections.increment();
+        return connection;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource target) throws SQLException;
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, Route route) {
+        return Counter.builder("sellora.datasource.connections")
+                .description("Conexões abertas pelo roteamento, por destino")
+                .tag("target", route.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,111 @@
+package com.danilo.sellora_commerce.config;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Registra quantos comandos SQL cada endpoint executa por requisição
+ * (métrica sellora.http.server.queries, com as mesmas tags method/uri de http.server.requests).
+ *
+ * Em respostas assíncronas a contagem só é registrada quando a resposta termina, e inclui os
+ * comandos executados na thread da tarefa assíncrona ({@link AsyncQueryCount}).
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String QUERIES_METRIC = "sellora.http.server.queries";
+
+    private static final String COUNTER_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".counter";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger counter = QueryCountInspector.start();
+        request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCountInspector.stop();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, counter.get());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, counter.get());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            DistributionSummary.builder(QUERIES_METRIC)
+                    .description("Comandos SQL por requisição")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern.toString())
+                    .register(meterRegistry)
+                    .record(queries);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    /**
+     * Leva a contagem da requisição para a thread que executa a tarefa assíncrona do Spring MVC
+     * (ex.: StreamingResponseBody), registrado em {@link WebConfig#configureAsyncSupport}.
+     */
+    public static class AsyncQueryCount implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+            Object counter = request.getAttribute(COUNTER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (counter instanceof AtomicInteger queries) {
+                QueryCountInspector.attach(queries);
+            }
+        }
+
+        @Override
+        public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+            QueryCountInspector.detach();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.danilo.sellora_commerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (ex.: gravação em lote do estoque).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
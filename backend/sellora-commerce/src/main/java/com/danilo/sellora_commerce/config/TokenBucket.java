@@ -0,0 +1,55 @@
+package com.danilo.sellora_commerce.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks, na forma GCRA: em vez de contar tokens e o horário da última reposição,
+ * guarda um único instante (System.nanoTime) em que o balde voltaria a estar cheio. Cada requisição
+ * empurra esse instante um intervalo para frente com compareAndSet; quando ele passaria de
+ * {@code capacity} intervalos à frente de agora, a requisição é recusada e a diferença é o tempo de espera.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param permitsPerSecond tokens repostos por segundo
+     * @param capacity         tokens acumulados no máximo (rajada permitida com o balde cheio)
+     */
+    TokenBucket(double permitsPerSecond, int capacity, long nowNanos) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("A taxa e a capacidade do token bucket devem ser positivas");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / permitsPerSecond));
+        this.capacityNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consome um token se houver.
+     *
+     * @return 0 se a requisição foi admitida; senão, quantos nanossegundos faltam para o próximo token
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long waitNanos = next - nowNanos - capacityNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Tempo para um balde vazio encher de novo. Depois disso sem uso, ele equivale a um balde novo.
+     */
+    long refillNanos() {
+        return capacityNanos;
+    }
+}
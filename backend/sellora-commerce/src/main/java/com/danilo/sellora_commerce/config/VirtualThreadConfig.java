@@ -0,0 +1,36 @@
+package com.danilo.sellora_commerce.config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Modo de execução em virtual threads (sellora.threads.virtual.enabled=true).
+ *
+ * As requisições do Tomcat e as tarefas assíncronas do Spring MVC passam a rodar cada uma em
+ * sua própria virtual thread. Bloquear no JDBC deixa de ocupar uma thread de plataforma, então
+ * o limite de concorrência no banco passa a ser o pool de conexões (spring.datasource.hikari.*).
+ */
+@Configuration
+@ConditionalOnProperty(name = "sellora.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ThreadFactory factory = Thread.ofVirtual().name("tomcat-vt-", 0).factory();
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newThreadPerTaskExecutor(factory));
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        ThreadFactory factory = Thread.ofVirtual().name("task-vt-", 0).factory();
+        return new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(factory));
+    }
+}
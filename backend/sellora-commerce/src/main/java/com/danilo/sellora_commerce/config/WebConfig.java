@@ -1,20 +1,88 @@
 package com.danilo.sellora_commerce.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.danilo.sellora_commerce.controller.ProductController;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
 @Configuration
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Value("${server.compression.min-response-size:2KB}")
+    private DataSize compressionMinResponseSize;
+
+    /**
+     * CORS como filtro, antes do {@link RateLimitFilter}: respostas 429 e pré-voos (OPTIONS) também
+     * recebem os cabeçalhos, e o navegador consegue ler o status, o Retry-After e o cursor da próxima página.
+     */
+    @Bean
+    public FilterRegistrationBean<CorsFilter> corsFilter() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(List.of("http://localhost:5500")); // Substituir pela URL do frontend
+        cors.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        cors.setAllowedHeaders(List.of("*"));
+        // o frontend lê a ETag do pedido para enviá-la no If-Match ao atualizar
+        cors.setExposedHeaders(List.of(HttpHeaders.ETAG, HttpHeaders.RETRY_AFTER, ProductController.NEXT_CURSOR_HEADER));
+        cors.setAllowCredentials(true);
+        cors.setMaxAge(1800L);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+
+        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(new CorsFilter(source));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Respostas assíncronas (ex.: StreamingResponseBody) usam o executor da aplicação,
+     * que roda em virtual threads quando sellora.threads.virtual.enabled=true. Os comandos SQL
+     * dessas tarefas entram na contagem da requisição que as iniciou.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+        configurer.registerCallableInterceptors(new RequestMetricsFilter.AsyncQueryCount());
+    }
+
+    /**
+     * Os conversores Jackson padrão (JSON e, com jackson-dataformat-cbor no classpath, CBOR em
+     * Accept: application/cbor) passam a usar o Blackbird: getters e setters são chamados por
+     * lambdas geradas em vez de reflexão. O formato das respostas não muda. Eles também passam a
+     * informar o Content-Length das respostas abaixo do tamanho mínimo de compressão, para que a compressão
+     * respeite esse mínimo (veja {@link BufferedJacksonConverters}).
+     */
     @Override
-    public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/**")  
-                .allowedOrigins("http://localhost:5500") // Substituir pela URL do frontend
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("*")
-                .allowCredentials(true);
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        BufferedJacksonConverters.install(converters, (int) compressionMinResponseSize.toBytes());
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter jackson) {
+                jackson.getObjectMapper().registerModule(new BlackbirdModule());
+            }
+        }
     }
 }
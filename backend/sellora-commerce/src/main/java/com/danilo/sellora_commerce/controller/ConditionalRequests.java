@@ -0,0 +1,73 @@
+package com.danilo.sellora_commerce.controller;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.danilo.sellora_commerce.dtos.VersionStamp;
+
+/**
+ * Suporte a GET condicional (If-None-Match / If-Modified-Since) a partir de um {@link VersionStamp}.
+ *
+ * Quando a requisição é condicional, o controller calcula primeiro a versão com uma consulta barata
+ * e só carrega e serializa o corpo se ela mudou. Sem cabeçalhos condicionais, a versão é calculada
+ * das entidades carregadas, sem consulta extra.
+ *
+ * Listas respondem só com ETag: a maior data de alteração das linhas não muda quando uma linha é
+ * apagada, então um Last-Modified da lista faria o cliente manter uma cópia com o item removido.
+ * A ETag inclui a contagem de linhas e muda nesse caso.
+ */
+final class ConditionalRequests {
+
+    /** Produtos podem ser guardados por caches compartilhados, mas sempre revalidados. */
+    static final CacheControl PUBLIC = CacheControl.maxAge(Duration.ZERO).mustRevalidate();
+
+    /** Pedidos têm dados do cliente: só o navegador guarda, e revalida a cada uso. */
+    static final CacheControl PRIVATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalRequests() {
+    }
+
+    static boolean isConditional(ServletWebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    static boolean isConditionalCollection(ServletWebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    static <T> VersionStamp versionOf(Collection<T> items, Function<T, VersionStamp> version) {
+        VersionStamp stamp = VersionStamp.EMPTY;
+        for (T item : items) {
+            stamp = stamp.plus(version.apply(item));
+        }
+        return stamp;
+    }
+
+    /**
+     * Grava ETag, Last-Modified, Cache-Control e Vary na resposta e indica se o cliente já tem essa versão.
+     * Quando retorna {@code true}, o status 304 já foi definido e o controller não deve escrever corpo.
+     */
+    static boolean notModified(ServletWebRequest request, VersionStamp version, String kind, CacheControl cacheControl) {
+        writeCacheHeaders(request, cacheControl);
+        return request.checkNotModified(version.etag(kind), version.lastModifiedMillis());
+    }
+
+    /**
+     * Como {@link #notModified}, mas sem Last-Modified, para listas.
+     */
+    static boolean collectionNotModified(ServletWebRequest request, VersionStamp version, String kind, CacheControl cacheControl) {
+        writeCacheHeaders(request, cacheControl);
+        return request.checkNotModified(version.etag(kind));
+    }
+
+    private static void writeCacheHeaders(ServletWebRequest request, CacheControl cacheControl) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+}
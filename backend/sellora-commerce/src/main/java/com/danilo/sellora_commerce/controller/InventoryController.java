@@ -0,0 +1,36 @@
+package com.danilo.sellora_commerce.controller;
+
+import com.danilo.sellora_commerce.dtos.InventoryDTO;
+import com.danilo.sellora_commerce.service.InventoryService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/inventory")
+@Tag(name = "Estoque", description = "Consulta e ajuste do estoque dos produtos")
+public class InventoryController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @GetMapping("/{productId}")
+    @Operation(summary = "Consultar estoque de um produto", description = "Retorna as quantidades disponível e reservada")
+    public ResponseEntity<InventoryDTO> getInventory(
+            @PathVariable @Parameter(description = "ID do produto", required = true) Long productId) {
+        return ResponseEntity.ok(inventoryService.getInventory(productId));
+    }
+
+    @PutMapping("/{productId}")
+    @Operation(summary = "Definir estoque disponível", description = "Define a quantidade disponível para venda de um produto")
+    public ResponseEntity<InventoryDTO> setAvailable(
+            @PathVariable @Parameter(description = "ID do produto", required = true) Long productId,
+            @RequestParam @Parameter(description = "Quantidade disponível", required = true) long available) {
+        return ResponseEntity.ok(inventoryService.setAvailable(productId, available));
+    }
+}
@@ -1,47 +1,198 @@
 package com.danilo.sellora_commerce.controller;
 
+import com.danilo.sellora_commerce.dtos.OrderBatchResponse;
+import com.danilo.sellora_commerce.dtos.OrderStatusDTO;
+import com.danilo.sellora_commerce.dtos.OrderStatusRequest;
+import com.danilo.sellora_commerce.dtos.VersionStamp;
+import com.danilo.sellora_commerce.dtos.OrderExportLine;
 import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.service.IdempotencyService;
 import com.danilo.sellora_commerce.service.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
 @Tag(name = "Pedidos", description = "Endpoints para gerenciamento de pedidos")
 public class OrderController {
 
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private static final ObjectWriter EXPORT_CSV_WRITER = CSV_MAPPER
+            .writer(CSV_MAPPER.schemaFor(OrderExportLine.class).withHeader())
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    @Operation(summary = "Listar todos os pedidos")
-    public ResponseEntity<List<Order>> getAll() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    @Operation(summary = "Listar todos os pedidos",
+            description = "Aceita If-None-Match e responde 304 se nenhum pedido mudou")
+    public ResponseEntity<List<Order>> getAll(ServletWebRequest request) {
+        boolean conditional = ConditionalRequests.isConditionalCollection(request);
+        if (conditional && ConditionalRequests.collectionNotModified(request, orderService.getOrdersVersion(), "orders", ConditionalRequests.PRIVATE)) {
+            return null;
+        }
+        List<Order> orders = orderService.getAllOrders();
+        if (!conditional) {
+            VersionStamp version = ConditionalRequests.versionOf(orders, OrderService::versionOf);
+            ConditionalRequests.collectionNotModified(request, version, "orders", ConditionalRequests.PRIVATE);
+        }
+        return ResponseEntity.ok(orders);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar pedidos",
+            description = "Transmite os pedidos do período em NDJSON (um pedido com seus itens por linha) ou CSV "
+                    + "(um item por linha), lidos por cursor do banco, sem carregar o histórico em memória")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Data inicial (inclusiva)", example = "2025-01-01") LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Data final (inclusiva)", example = "2025-01-31") LocalDate to,
+            @RequestParam(required = false) @Parameter(description = "Status a incluir (todos, se vazio)") Set<OrderStatus> status,
+            @RequestParam(defaultValue = "ndjson") @Parameter(description = "Formato: ndjson ou csv") String format) {
+        boolean csv = switch (format.toLowerCase()) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new IllegalArgumentException("Formato de exportação inválido: " + format + " (use ndjson ou csv)");
+        };
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final");
+        }
+
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out);
+            try {
+                if (csv) {
+                    try (SequenceWriter writer = EXPORT_CSV_WRITER.writeValues(buffered)) {
+                        orderService.forEachExportLine(from, to, status, line -> writeValue(writer, line));
+                    }
+                } else {
+                    orderService.forEachExportedOrder(from, to, status, order -> writeLine(buffered, order));
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+        String filename = "pedidos." + (csv ? "csv" : "ndjson");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? ProductController.CSV : ProductController.NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeValue(SequenceWriter writer, Object value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar pedido por ID")
-    public ResponseEntity<Order> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+    @Operation(summary = "Buscar pedido por ID",
+            description = "Aceita If-None-Match/If-Modified-Since e responde 304 se o pedido não mudou")
+    public ResponseEntity<Order> getById(@PathVariable Long id, ServletWebRequest request) {
+        boolean conditional = ConditionalRequests.isConditional(request);
+        if (conditional && ConditionalRequests.notModified(request, orderService.getOrderVersion(id), "order", ConditionalRequests.PRIVATE)) {
+            return null;
+        }
+        Order order = orderService.getOrderById(id);
+        if (!conditional) {
+            ConditionalRequests.notModified(request, OrderService.versionOf(order), "order", ConditionalRequests.PRIVATE);
+        }
+        return ResponseEntity.ok(order);
     }
 
     @PostMapping
-    @Operation(summary = "Criar um novo pedido")
-    public ResponseEntity<Order> create(@RequestBody Order order) {
-        return ResponseEntity.ok(orderService.createOrder(order));
+    @Operation(summary = "Criar um novo pedido",
+            description = "Com o cabeçalho " + IdempotencyService.HEADER + ", repetições da mesma requisição (ex.: após um timeout) "
+                    + "recebem a resposta da primeira, com " + IdempotencyService.REPLAYED_HEADER + ": true, sem criar outro pedido. "
+                    + "Repetições simultâneas esperam a primeira terminar; reutilizar a chave com outro conteúdo responde 422. "
+                    + "Com a chave, a resposta é sempre JSON",
+            responses = @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = Order.class))))
+    public ResponseEntity<?> create(@RequestBody Order order,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false)
+            @Parameter(description = "Chave única da operação, repetida pelo cliente em cada tentativa") String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(orderService.createOrder(order));
+        }
+        IdempotencyService.Result result = orderService.createOrder(order, idempotencyKey);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Criar pedidos em lote", description = "Cria vários pedidos em transações por lote e retorna o resultado de cada um")
+    public ResponseEntity<OrderBatchResponse> createBatch(@RequestBody List<Order> orders) {
+        return ResponseEntity.ok(orderService.createOrders(orders));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Atualizar um pedido existente")
-    public ResponseEntity<Order> update(@PathVariable Long id, @RequestBody Order order) {
-        return ResponseEntity.ok(orderService.updateOrder(id, order));
+    @Operation(summary = "Atualizar um pedido existente",
+            description = "Exige a versão lida: o campo version no corpo ou a ETag do pedido no cabeçalho If-Match. "
+                    + "Sem nenhum dos dois responde 428; versão desatualizada responde 409 (corpo) ou 412 (If-Match)")
+    public ResponseEntity<Order> update(@PathVariable Long id, @RequestBody Order order,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag do pedido recebida no GET") String ifMatch) {
+        return ResponseEntity.ok(orderService.updateOrder(id, order, ifMatch));
+    }
+
+    @PatchMapping("/{id}/status")
+    @Operation(summary = "Alterar o status de um pedido",
+            description = "Aplica uma transição de status válida (PENDING → PROCESSING → SHIPPED → DELIVERED → COMPLETED, "
+                    + "ou CANCELED antes do envio). Os efeitos da mudança são processados em segundo plano")
+    public ResponseEntity<OrderStatusDTO> changeStatus(@PathVariable Long id, @RequestBody OrderStatusRequest request) {
+        return ResponseEntity.ok(orderService.changeStatus(id, request.status()));
     }
 
     @DeleteMapping("/{id}")
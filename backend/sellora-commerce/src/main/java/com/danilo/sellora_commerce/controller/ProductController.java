@@ -1,26 +1,56 @@
 package com.danilo.sellora_commerce.controller;
 
+import com.danilo.sellora_commerce.dtos.CacheStatsDTO;
+import com.danilo.sellora_commerce.dtos.CursorPage;
+import com.danilo.sellora_commerce.dtos.ProductImportResponse;
+import com.danilo.sellora_commerce.dtos.VersionStamp;
 import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.service.ProductImportService;
+import com.danilo.sellora_commerce.service.ProductSearchService;
 import com.danilo.sellora_commerce.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/products")
 @Tag(name = "Produtos", description = "Operações relacionadas aos produtos")
 public class ProductController {
 
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Criar um novo produto", description = "Salva um novo produto no sistema")
     @PostMapping
     public ResponseEntity<Product> createProduct(
@@ -29,17 +59,107 @@ public class ProductController {
         return ResponseEntity.status(201).body(created);
     }
 
-    @Operation(summary = "Listar todos os produtos", description = "Retorna todos os produtos cadastrados")
+    @Operation(summary = "Importar produtos em lote", description = "Recebe um CSV (" + CSV + ", com cabeçalho "
+            + "id,name,price,description,imageUrl) ou NDJSON (" + NDJSON + ") em streaming. Linhas com id atualizam "
+            + "o produto; sem id, inserem um novo. Linhas inválidas são reportadas sem interromper a importação")
+    @PostMapping(value = "/import", consumes = { CSV, NDJSON })
+    public ResponseEntity<ProductImportResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        if (MediaType.parseMediaType(NDJSON).isCompatibleWith(contentType)) {
+            return ResponseEntity.ok(productImportService.importNdjson(body));
+        }
+        return ResponseEntity.ok(productImportService.importCsv(body));
+    }
+
+    @Operation(summary = "Listar produtos", description = "Retorna uma página de produtos ordenada por ID. "
+            + "Quando houver mais resultados, o cursor da próxima página vem no cabeçalho " + NEXT_CURSOR_HEADER
+            + ". Aceita If-None-Match e responde 304 se a página não mudou")
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<List<Product>> getAllProducts(
+            @RequestParam(required = false) @Parameter(description = "ID do último produto recebido") Long after,
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE)
+            @Parameter(description = "Tamanho da página (máximo " + ProductService.MAX_PAGE_SIZE + ")") int size,
+            ServletWebRequest request) {
+        boolean conditional = ConditionalRequests.isConditionalCollection(request);
+        if (conditional) {
+            CursorPage<VersionStamp> versions = productService.getProductsPageVersions(after, size);
+            VersionStamp version = ConditionalRequests.versionOf(versions.content(), Function.identity());
+            if (ConditionalRequests.collectionNotModified(request, version, pageKind(versions), ConditionalRequests.PUBLIC)) {
+                return null;
+            }
+        }
+        CursorPage<Product> page = productService.getProductsPage(after, size);
+        if (!conditional) {
+            VersionStamp version = ConditionalRequests.versionOf(page.content(), ProductService::versionOf);
+            ConditionalRequests.collectionNotModified(request, version, pageKind(page), ConditionalRequests.PUBLIC);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.content());
     }
 
-    @Operation(summary = "Buscar produto por ID", description = "Retorna os dados de um produto específico")
+    /**
+     * A existência de uma próxima página muda o cabeçalho de cursor, então entra na ETag.
+     */
+    private static String pageKind(CursorPage<?> page) {
+        return page.hasNext() ? "products-more" : "products";
+    }
+
+    @Operation(summary = "Exportar catálogo em NDJSON", description = "Transmite todos os produtos, um JSON por linha, sem carregar o catálogo em memória")
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out);
+            try {
+                productService.forEachProduct(product -> writeLine(buffered, product));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private void writeLine(OutputStream out, Product product) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(product));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Operation(summary = "Buscar produtos por texto", description = "Busca por nome e descrição, ordenando pelos mais relevantes")
+    @GetMapping("/search")
+    public ResponseEntity<List<Product>> searchProducts(
+            @RequestParam @Parameter(description = "Texto da busca", required = true) String q,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Quantidade máxima de resultados") int limit) {
+        return ResponseEntity.ok(productSearchService.search(q, limit));
+    }
+
+    @Operation(summary = "Autocompletar busca", description = "Sugere termos do catálogo que começam com o texto digitado")
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam @Parameter(description = "Prefixo digitado", required = true) String prefix,
+            @RequestParam(defaultValue = "10") @Parameter(description = "Quantidade máxima de sugestões") int limit) {
+        return ResponseEntity.ok(productSearchService.suggest(prefix, limit));
+    }
+
+    @Operation(summary = "Buscar produto por ID", description = "Retorna os dados de um produto específico. "
+            + "Aceita If-None-Match/If-Modified-Since e responde 304 se o produto não mudou")
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(
-            @PathVariable @Parameter(description = "ID do produto", required = true) Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+            @PathVariable @Parameter(description = "ID do produto", required = true) Long id,
+            ServletWebRequest request) {
+        // A versão vem do próprio produto, que normalmente já está no cache; no 304 só a serialização é evitada
+        Product product = productService.getProductById(id);
+        if (ConditionalRequests.notModified(request, ProductService.versionOf(product), "product", ConditionalRequests.PUBLIC)) {
+            return null;
+        }
+        return ResponseEntity.ok(product);
     }
 
     @Operation(summary = "Atualizar produto", description = "Atualiza os dados de um produto existente")
@@ -57,4 +177,10 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Estatísticas do cache", description = "Retorna os contadores do cache de leitura de produtos")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
 }
@@ -0,0 +1,60 @@
+package com.danilo.sellora_commerce.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.danilo.sellora_commerce.dtos.DailySalesDTO;
+import com.danilo.sellora_commerce.dtos.ProductSalesDTO;
+import com.danilo.sellora_commerce.service.SalesReportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/reports/sales")
+@Tag(name = "Relatórios", description = "Relatórios de vendas a partir das tabelas agregadas por dia")
+public class ReportController {
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @GetMapping("/daily")
+    @Operation(summary = "Vendas por dia", description = "Pedidos, receita e pedidos por status em cada dia do período (padrão: últimos 30 dias)")
+    public ResponseEntity<List<DailySalesDTO>> getDailySales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Data final (yyyy-MM-dd)") LocalDate to) {
+        LocalDate[] period = SalesReportService.period(from, to);
+        return ResponseEntity.ok(salesReportService.getDailySales(period[0], period[1]));
+    }
+
+    @GetMapping("/products")
+    @Operation(summary = "Produtos mais vendidos", description = "Receita e unidades por produto no período, sem contar pedidos cancelados")
+    public ResponseEntity<List<ProductSalesDTO>> getTopProducts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Data final (yyyy-MM-dd)") LocalDate to,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Quantidade máxima de produtos") int limit) {
+        LocalDate[] period = SalesReportService.period(from, to);
+        return ResponseEntity.ok(salesReportService.getTopProducts(period[0], period[1], limit));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Reconstruir agregados", description = "Recalcula as tabelas agregadas a partir dos pedidos e itens")
+    public ResponseEntity<Void> rebuild() {
+        salesReportService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
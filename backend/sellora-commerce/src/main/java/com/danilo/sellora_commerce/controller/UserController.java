@@ -1,10 +1,16 @@
 package com.danilo.sellora_commerce.controller;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,13 +18,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.danilo.sellora_commerce.dtos.CursorPage;
+import com.danilo.sellora_commerce.dtos.UserAvailabilityDTO;
 import com.danilo.sellora_commerce.dtos.UserDTO;
+import com.danilo.sellora_commerce.dtos.UserStatsDTO;
 import com.danilo.sellora_commerce.model.User;
 import com.danilo.sellora_commerce.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 
 @RestController
 @RequestMapping("/users")
@@ -29,22 +42,62 @@ public class UserController {
     @Autowired
     private UserService userService;
 
-    @Operation(summary = "Get all users", description = "Retrieve a list of all users.")
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Operation(summary = "Get all users", description = "Retrieve a page of users ordered by ID. "
+            + "When there are more results, the next page cursor is returned in the " + ProductController.NEXT_CURSOR_HEADER + " header.")
     @GetMapping
-    public List<UserDTO> getAllUsers() {
-        logger.info("Fetching all users");
-        List<UserDTO> users = userService.findAll();
-        logger.info("Fetched {} users", users.size());
-        return users;
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+            @RequestParam(required = false) @Parameter(description = "ID of the last user received") Long after,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE)
+            @Parameter(description = "Page size (max " + UserService.MAX_PAGE_SIZE + ")") int size) {
+        CursorPage<UserDTO> page = userService.findPage(after, size);
+        logger.debug("Fetched {} users", page.content().size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(ProductController.NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.content());
+    }
+
+    @Operation(summary = "User statistics", description = "Count every user, in total and by user type, without listing them.")
+    @GetMapping("/stats")
+    public UserStatsDTO getUserStats() {
+        return userService.getStats();
+    }
+
+    @Operation(summary = "Export users as NDJSON", description = "Stream every user, one JSON object per line, without loading them all in memory.")
+    @GetMapping(value = "/stream", produces = ProductController.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out);
+            try {
+                userService.forEachUser(user -> writeLine(buffered, user));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(ProductController.NDJSON)).body(body);
+    }
+
+    private void writeLine(OutputStream out, UserDTO user) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(user));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Operation(summary = "Find user by ID", description = "Retrieve a user by their ID.")
     @GetMapping("/{id}")
     public User getUserById(@PathVariable Long id) {
-        logger.info("Fetching user with ID: {}", id);
+        logger.debug("Fetching user with ID: {}", id);
         User user = userService.findById(id);
         if (user != null) {
-            logger.info("User found: {}", user);
+            logger.debug("User found: {}", user);
         } else {
             logger.warn("User with ID {} not found", id);
         }
@@ -53,19 +106,19 @@ public class UserController {
 
     @PostMapping
     public User saveUser(@RequestBody User user) {
-        logger.info("Saving user: {}", user);
+        logger.debug("Saving user: {}", user);
         User savedUser = userService.save(user);
-        logger.info("User saved successfully with ID: {}", savedUser.getId());
+        logger.debug("User saved successfully with ID: {}", savedUser.getId());
         return savedUser;
     }
 
     @Operation(summary = "Find user by username", description = "Retrieve a user by their username.")
     @GetMapping("/username/{username}")
     public User getUserByUsername(@PathVariable String username) {
-        logger.info("Fetching user with username: {}", username);
+        logger.debug("Fetching user with username: {}", username);
         User user = userService.findByUsername(username);
         if (user != null) {
-            logger.info("User found: {}", user);
+            logger.debug("User found: {}", user);
         } else {
             logger.warn("User with username {} not found", username);
         }
@@ -75,10 +128,10 @@ public class UserController {
     @Operation(summary = "Find user by email", description = "Retrieve a user by their email.")
     @GetMapping("/email/{email}")
     public User getUserByEmail(@PathVariable String email) {
-        logger.info("Fetching user with email: {}", email);
+        logger.debug("Fetching user with email: {}", email);
         User user = userService.findByEmail(email);
         if (user != null) {
-            logger.info("User found: {}", user);
+            logger.debug("User found: {}", user);
         } else {
             logger.warn("User with email {} not found", email);
         }
@@ -88,27 +141,36 @@ public class UserController {
     @Operation(summary = "Find user by document", description = "Retrieve a user by their CPF or CNPJ document.")
     @GetMapping("/document/{document}")
     public User getUserByDocument(@PathVariable String document) {
-        logger.info("Fetching user with document: {}", document);
+        logger.debug("Fetching user with document: {}", document);
         User user = userService.findByDocument(document);
         if (user != null) {
-            logger.info("User found: {}", user);
+            logger.debug("User found: {}", user);
         } else {
             logger.warn("User with document {} not found", document);
         }
         return user;
     }
 
+    @Operation(summary = "Check availability", description = "Check whether a username, email or document is still free.")
+    @GetMapping("/availability")
+    public UserAvailabilityDTO checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String document) {
+        return userService.checkAvailability(username, email, document);
+    }
+
     @Operation(summary = "Delete user by ID", description = "Delete a user from the system by their ID.")
     @DeleteMapping("/delete/{id}")
     public void deleteUser(@PathVariable Long id) {
-        logger.info("Deleting user with ID: {}", id);
+        logger.debug("Deleting user with ID: {}", id);
         userService.delete(id);
-        logger.info("User deleted successfully");
+        logger.debug("User deleted successfully");
     }
 
     @PutMapping("/update/{id}")
     public User updateUser(@PathVariable Long id, @RequestBody User user) {
-        logger.info("Updating user with ID: {}", id);
+        logger.debug("Updating user with ID: {}", id);
         user.setId(id);
         return userService.update(id, user);
     }
@@ -0,0 +1,12 @@
+package com.danilo.sellora_commerce.dtos;
+
+public record CacheStatsDTO(
+    String name,
+    long size,
+    long hits,
+    long misses,
+    long evictions,
+    double hitRate
+) {
+
+}
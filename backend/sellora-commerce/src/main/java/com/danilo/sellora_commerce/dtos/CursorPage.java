@@ -0,0 +1,19 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por cursor (keyset).
+ *
+ * @param content    itens da página
+ * @param nextCursor ID a ser enviado como cursor da próxima página, ou {@code null} na última página
+ */
+public record CursorPage<T>(
+    List<T> content,
+    Long nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
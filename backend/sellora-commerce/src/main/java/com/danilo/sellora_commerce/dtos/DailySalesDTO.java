@@ -0,0 +1,16 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+
+public record DailySalesDTO(
+    LocalDate date,
+    long orders,
+    BigDecimal revenue,
+    Map<OrderStatus, Long> ordersByStatus
+) {
+
+}
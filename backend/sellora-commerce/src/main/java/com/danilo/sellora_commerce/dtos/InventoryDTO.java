@@ -0,0 +1,10 @@
+package com.danilo.sellora_commerce.dtos;
+
+public record InventoryDTO(
+    Long productId,
+    boolean tracked,
+    long available,
+    long reserved
+) {
+
+}
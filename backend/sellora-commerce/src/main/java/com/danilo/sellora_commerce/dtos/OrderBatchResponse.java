@@ -0,0 +1,14 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.util.List;
+
+public record OrderBatchResponse(
+    int received,
+    int created,
+    int failed,
+    long elapsedMillis,
+    double ordersPerSecond,
+    List<OrderBatchResult> results
+) {
+
+}
@@ -0,0 +1,25 @@
+package com.danilo.sellora_commerce.dtos;
+
+/**
+ * Resultado de um pedido enviado em lote.
+ *
+ * @param index   posição do pedido na requisição
+ * @param orderId ID gerado, quando criado
+ * @param success indica se o pedido foi criado
+ * @param error   motivo da falha, quando não criado
+ */
+public record OrderBatchResult(
+    int index,
+    Long orderId,
+    boolean success,
+    String error
+) {
+
+    public static OrderBatchResult created(int index, Long orderId) {
+        return new OrderBatchResult(index, orderId, true, null);
+    }
+
+    public static OrderBatchResult failed(int index, String error) {
+        return new OrderBatchResult(index, null, false, error);
+    }
+}
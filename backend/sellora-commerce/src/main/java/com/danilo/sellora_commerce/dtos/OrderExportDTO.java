@@ -0,0 +1,31 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+
+/**
+ * Pedido exportado em NDJSON, montado a partir das {@link OrderExportLine} consecutivas do mesmo pedido.
+ */
+public record OrderExportDTO(
+    Long orderId,
+    LocalDateTime orderDate,
+    OrderStatus status,
+    Long userId,
+    String username,
+    Money totalAmount,
+    List<Item> items
+) {
+
+    public record Item(
+        Long itemId,
+        Long productId,
+        String productName,
+        Integer quantity,
+        Money subtotal
+    ) {
+
+    }
+}
@@ -0,0 +1,30 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.time.LocalDateTime;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Linha da exportação de pedidos: um item de um pedido, com os dados do pedido repetidos.
+ * Pedidos sem itens aparecem em uma linha com os campos do item vazios.
+ * A ordem das propriedades é a ordem das colunas no CSV.
+ */
+@JsonPropertyOrder({ "orderId", "orderDate", "status", "userId", "username", "totalAmount",
+        "itemId", "productId", "productName", "quantity", "subtotal" })
+public record OrderExportLine(
+    Long orderId,
+    LocalDateTime orderDate,
+    OrderStatus status,
+    Long userId,
+    String username,
+    Money totalAmount,
+    Long itemId,
+    Long productId,
+    String productName,
+    Integer quantity,
+    Money subtotal
+) {
+
+}
@@ -0,0 +1,17 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+
+public record OrderStatusChangedEvent(
+    Long orderId,
+    OrderStatus previousStatus,
+    OrderStatus status,
+    Map<Long, Integer> quantities,
+    LocalDateTime changedAt
+) {
+
+    public static final String TYPE = "OrderStatusChanged";
+}
@@ -0,0 +1,16 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+
+public record OrderStatusDTO(
+    Long orderId,
+    OrderStatus previousStatus,
+    OrderStatus status,
+    Set<OrderStatus> nextStatuses,
+    LocalDateTime changedAt
+) {
+
+}
@@ -0,0 +1,9 @@
+package com.danilo.sellora_commerce.dtos;
+
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+
+public record OrderStatusRequest(
+    OrderStatus status
+) {
+
+}
@@ -0,0 +1,49 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.util.List;
+
+public record PerformanceReportDTO(
+    List<EndpointStats> endpoints,
+    HibernateStats hibernate,
+    ConnectionPoolStats connectionPool
+) {
+
+    public record EndpointStats(
+        String method,
+        String uri,
+        long count,
+        double meanMillis,
+        double p50Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis,
+        double meanQueries,
+        double maxQueries
+    ) {
+    }
+
+    public record HibernateStats(
+        long statements,
+        long queries,
+        long entityLoads,
+        long entityFetches,
+        long collectionFetches,
+        long flushes,
+        long transactions,
+        long slowestQueryMillis,
+        String slowestQuery
+    ) {
+    }
+
+    public record ConnectionPoolStats(
+        double active,
+        double idle,
+        double pending,
+        long acquisitions,
+        double acquireP50Millis,
+        double acquireP99Millis,
+        double acquireMaxMillis,
+        long timeouts
+    ) {
+    }
+}
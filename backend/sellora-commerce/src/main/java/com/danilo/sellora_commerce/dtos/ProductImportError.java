@@ -0,0 +1,14 @@
+package com.danilo.sellora_commerce.dtos;
+
+/**
+ * Erro de uma linha da importação.
+ *
+ * @param row   posição da linha no arquivo, a partir de 1 (sem contar o cabeçalho do CSV nem linhas em branco)
+ * @param error motivo da rejeição
+ */
+public record ProductImportError(
+    long row,
+    String error
+) {
+
+}
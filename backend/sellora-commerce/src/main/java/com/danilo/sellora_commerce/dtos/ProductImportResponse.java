@@ -0,0 +1,22 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.util.List;
+
+/**
+ * Resumo de uma importação de produtos.
+ *
+ * @param errors        erros detalhados, limitados a {@code sellora.products.import.max-errors}
+ * @param errorsOmitted erros que não couberam na lista
+ */
+public record ProductImportResponse(
+    long received,
+    long inserted,
+    long updated,
+    long failed,
+    long elapsedMillis,
+    double rowsPerSecond,
+    List<ProductImportError> errors,
+    long errorsOmitted
+) {
+
+}
@@ -0,0 +1,19 @@
+package com.danilo.sellora_commerce.dtos;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+/**
+ * Linha de um arquivo de importação de produtos (CSV ou NDJSON). Os campos chegam como texto
+ * e são convertidos e validados na importação, para que um valor inválido vire erro da linha.
+ *
+ * @param id ID de um produto existente a atualizar; vazio para inserir um produto novo
+ */
+public record ProductImportRow(
+    String id,
+    String name,
+    String price,
+    String description,
+    @JsonAlias("image_url") String imageUrl
+) {
+
+}
@@ -0,0 +1,11 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.math.BigDecimal;
+
+public record ProductSalesDTO(
+    Long productId,
+    Long units,
+    BigDecimal revenue
+) {
+
+}
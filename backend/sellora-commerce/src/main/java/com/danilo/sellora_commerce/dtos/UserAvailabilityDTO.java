@@ -0,0 +1,9 @@
+package com.danilo.sellora_commerce.dtos;
+
+public record UserAvailabilityDTO(
+    Boolean usernameAvailable,
+    Boolean emailAvailable,
+    Boolean documentAvailable
+) {
+
+}
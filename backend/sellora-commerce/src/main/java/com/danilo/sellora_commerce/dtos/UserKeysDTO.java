@@ -0,0 +1,10 @@
+package com.danilo.sellora_commerce.dtos;
+
+public record UserKeysDTO(
+    Long id,
+    String username,
+    String email,
+    String document
+) {
+
+}
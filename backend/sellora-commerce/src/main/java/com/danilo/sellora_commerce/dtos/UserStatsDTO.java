@@ -0,0 +1,12 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.util.Map;
+
+import com.danilo.sellora_commerce.model.enums.UserType;
+
+public record UserStatsDTO(
+    long total,
+    Map<UserType, Long> byUserType
+) {
+
+}
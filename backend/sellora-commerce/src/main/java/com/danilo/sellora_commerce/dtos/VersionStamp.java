@@ -0,0 +1,71 @@
+package com.danilo.sellora_commerce.dtos;
+
+import java.time.Instant;
+
+/**
+ * Resumo da versão de um recurso ou coleção, usado para gerar ETag e Last-Modified.
+ *
+ * Quantidade de linhas, soma das versões e maior ID mudam a cada criação, alteração ou exclusão,
+ * então o resumo pode ser calculado por uma consulta agregada, sem carregar nem serializar as
+ * entidades, ou a partir das entidades já carregadas, com o mesmo resultado.
+ *
+ * @param rows         quantidade de linhas consideradas
+ * @param versions     soma das colunas de versão
+ * @param maxId        maior ID entre as linhas, ou {@code null} se não houver linhas
+ * @param lastModified data da alteração mais recente, ou {@code null} se não houver linhas
+ */
+public record VersionStamp(
+    Long rows,
+    Long versions,
+    Long maxId,
+    Instant lastModified
+) {
+
+    public static final VersionStamp EMPTY = new VersionStamp(0L, 0L, null, null);
+
+    public VersionStamp {
+        rows = rows != null ? rows : 0L;
+        versions = versions != null ? versions : 0L;
+    }
+
+    /**
+     * Resumo de uma única linha.
+     */
+    public VersionStamp(Long id, Long version, Instant lastModified) {
+        this(1L, version, id, lastModified);
+    }
+
+    public VersionStamp plus(VersionStamp other) {
+        return new VersionStamp(
+                rows + other.rows,
+                versions + other.versions,
+                max(maxId, other.maxId),
+                max(lastModified, other.lastModified));
+    }
+
+    public boolean isEmpty() {
+        return rows == 0;
+    }
+
+    /**
+     * ETag fraca no formato {@code W/"<tipo>-<linhas>.<versões>.<maior ID>"}: identifica a versão dos dados,
+     * não os bytes, que variam com o formato (JSON/CBOR) e a compressão.
+     */
+    public String etag(String kind) {
+        return "W/\"" + kind + "-" + rows + "." + versions + "." + (maxId != null ? maxId : 0) + "\"";
+    }
+
+    /**
+     * Data da alteração mais recente em milissegundos, ou -1 quando desconhecida.
+     */
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+
+    private static <T extends Comparable<T>> T max(T a, T b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -1,14 +1,11 @@
 package com.danilo.sellora_commerce.exceptions;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Handler global para capturar e tratar exceções de forma consistente.
  */
@@ -31,6 +28,87 @@ public class ControllerExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Trata exceções quando não há estoque suficiente para o pedido.
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Object> handleInsufficientStockException(InsufficientStockException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Trata mudanças de status de pedido não permitidas pela máquina de estados.
+     */
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<Object> handleInvalidStatusTransitionException(InvalidStatusTransitionException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Trata atualizações de pedido feitas sobre uma versão que não é mais a atual.
+     */
+    @ExceptionHandler(OrderVersionConflictException.class)
+    public ResponseEntity<Object> handleOrderVersionConflictException(OrderVersionConflictException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Trata atualizações de pedido sem a versão no corpo nem o cabeçalho If-Match.
+     */
+    @ExceptionHandler(OrderPreconditionRequiredException.class)
+    public ResponseEntity<Object> handleOrderPreconditionRequiredException(OrderPreconditionRequiredException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.PRECONDITION_REQUIRED);
+    }
+
+    /**
+     * Trata atualizações de pedido cujo If-Match não corresponde mais à ETag atual.
+     */
+    @ExceptionHandler(OrderPreconditionFailedException.class)
+    public ResponseEntity<Object> handleOrderPreconditionFailedException(OrderPreconditionFailedException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Trata o conflito detectado pelo @Version quando outra transação gravou o registro antes.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return buildErrorResponse("O registro foi alterado por outra requisição. Recarregue os dados e tente novamente",
+                HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Trata cadastros com username, e-mail ou documento já em uso.
+     */
+    @ExceptionHandler(DuplicateUserException.class)
+    public ResponseEntity<Object> handleDuplicateUserException(DuplicateUserException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Trata repetições de uma chave de idempotência enquanto a primeira requisição ainda está em andamento.
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Trata chaves de idempotência reutilizadas com outro conteúdo de requisição.
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Trata dados inválidos enviados na requisição.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Trata qualquer outra exceção não capturada especificamente.
      */
@@ -44,12 +122,6 @@ public class ControllerExceptionHandler {
      * Cria um corpo de resposta padronizado para os erros.
      */
     private ResponseEntity<Object> buildErrorResponse(String message, HttpStatus status) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
-
-        return new ResponseEntity<>(body, status);
+        return new ResponseEntity<>(StandardError.of(status, message), status);
     }
 }
@@ -0,0 +1,11 @@
+package com.danilo.sellora_commerce.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_REQUIRED)
+public class OrderPreconditionRequiredException extends RuntimeException {
+    public OrderPreconditionRequiredException(String message) {
+        super(message);
+    }
+}
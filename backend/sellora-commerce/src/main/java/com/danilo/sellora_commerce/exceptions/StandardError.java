@@ -2,12 +2,14 @@ package com.danilo.sellora_commerce.exceptions;
 
 import java.time.LocalDateTime;
 
+import org.springframework.http.HttpStatus;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /**
- * Representação padrão de erro usada nos handlers.
+ * Representação padrão de erro usada nos handlers e nos filtros que respondem antes do controller.
  */
 @Data
 @AllArgsConstructor
@@ -19,6 +21,13 @@ public class StandardError {
     @Schema(description = "Código HTTP do erro", example = "404")
     private int status;
 
+    @Schema(description = "Descrição do código HTTP", example = "Not Found")
+    private String error;
+
     @Schema(description = "Mensagem explicando o erro", example = "Usuário não encontrado")
     private String message;
+
+    public static StandardError of(HttpStatus status, String message) {
+        return new StandardError(LocalDateTime.now(), status.value(), status.getReasonPhrase(), message);
+    }
 }
@@ -0,0 +1,57 @@
+package com.danilo.sellora_commerce.model;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Chave de idempotência de uma requisição. O registro é criado antes da operação (reserva da chave)
+ * e recebe a resposta na mesma transação que grava o resultado; sem resposta, a operação está em andamento.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "response")
+@Schema(description = "Resposta guardada para uma chave de idempotência")
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 255)
+    @Schema(description = "Valor do cabeçalho Idempotency-Key", example = "3f6c2a4e-checkout-1001")
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    @Schema(description = "SHA-256 do conteúdo da requisição original")
+    private String fingerprint;
+
+    @Lob
+    @Schema(description = "Corpo da resposta em JSON")
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord(String idempotencyKey, String fingerprint, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.fingerprint = fingerprint;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
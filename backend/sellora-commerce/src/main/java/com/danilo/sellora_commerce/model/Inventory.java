@@ -0,0 +1,35 @@
+package com.danilo.sellora_commerce.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Estoque de um produto. Produtos sem registro de estoque não têm controle de disponibilidade.
+ */
+@Entity
+@Table(name = "inventory")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Schema(description = "Estoque de um produto")
+public class Inventory {
+
+    @Id
+    @Schema(description = "ID do produto", example = "1")
+    private Long productId;
+
+    @Schema(description = "Quantidade disponível para venda", example = "100")
+    private long available;
+
+    @Schema(description = "Quantidade reservada por pedidos em andamento", example = "3")
+    private long reserved;
+}
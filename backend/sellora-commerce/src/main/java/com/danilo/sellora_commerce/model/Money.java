@@ -0,0 +1,150 @@
+package com.danilo.sellora_commerce.model;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Valor monetário em centavos, com aritmética exata em {@code long}.
+ *
+ * Substitui {@link BigDecimal} no cálculo de preços: subtotal e total são somas e produtos de
+ * inteiros, sem objetos intermediários. Operações que estourariam o {@code long} lançam
+ * {@link ArithmeticException}. No banco continua sendo um DECIMAL com 2 casas ({@link MoneyConverter})
+ * e no JSON um número com exatamente 2 casas decimais.
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+@Schema(type = "number", example = "199.90")
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * @throws ArithmeticException se o valor tiver frações de centavo ou não couber em {@code long}
+     */
+    public static Money of(BigDecimal value) {
+        return ofCents(value.movePointRight(SCALE).longValueExact());
+    }
+
+    public static Money parse(String value) {
+        return of(new BigDecimal(value.trim()));
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(long quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return new String(format());
+    }
+
+    /**
+     * Texto decimal exato ("1234.50", "-0.05") em um array de tamanho justo.
+     */
+    private char[] format() {
+        char[] digits = new char[formattedLength()];
+        long remaining = cents;
+        int position = digits.length;
+        for (int i = 0; i < SCALE; i++) {
+            digits[--position] = (char) ('0' + Math.abs(remaining % 10));
+            remaining /= 10;
+        }
+        digits[--position] = '.';
+        do {
+            digits[--position] = (char) ('0' + Math.abs(remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        if (cents < 0) {
+            digits[--position] = '-';
+        }
+        return digits;
+    }
+
+    private int formattedLength() {
+        int integerDigits = 1;
+        for (long units = cents / 100; units <= -10 || units >= 10; units /= 10) {
+            integerDigits++;
+        }
+        return (cents < 0 ? 1 : 0) + integerDigits + 1 + SCALE;
+    }
+
+    /**
+     * Escreve o número com as casas decimais exatas. Formatos binários (CBOR) recebem o decimal.
+     */
+    public static final class Serializer extends JsonSerializer<Money> {
+
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+            if (generator.canWriteFormattedNumbers()) {
+                char[] text = value.format();
+                generator.writeNumber(text, 0, text.length);
+            } else {
+                generator.writeNumber(value.toBigDecimal());
+            }
+        }
+    }
+
+    /**
+     * Aceita número ou texto ("19.9", "19.90", 20). Mais de 2 casas decimais diferentes de zero é erro.
+     */
+    public static final class Deserializer extends JsonDeserializer<Money> {
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            try {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    return ofCents(Math.multiplyExact(parser.getLongValue(), 100L));
+                }
+                if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    return of(parser.getDecimalValue());
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    return parse(parser.getText());
+                }
+            } catch (ArithmeticException | NumberFormatException e) {
+                return (Money) context.handleWeirdStringValue(Money.class, parser.getText(),
+                        "valor monetário inválido (máximo de 2 casas decimais)");
+            }
+            return (Money) context.handleUnexpectedToken(Money.class, parser);
+        }
+    }
+}
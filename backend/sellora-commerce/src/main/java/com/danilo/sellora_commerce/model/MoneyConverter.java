@@ -0,0 +1,24 @@
+package com.danilo.sellora_commerce.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava {@link Money} nas colunas DECIMAL já existentes (ex.: {@code precision = 10, scale = 2}).
+ * A conversão só acontece ao ler e gravar a entidade, fora do cálculo de preços.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+}
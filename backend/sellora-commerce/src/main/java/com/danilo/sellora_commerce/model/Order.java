@@ -1,20 +1,36 @@
 package com.danilo.sellora_commerce.model;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(
+    name = Order.GRAPH_DETAILS,
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode(value = "orderItems", subgraph = "items")
+    },
+    subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product"))
+)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -23,20 +39,29 @@ import lombok.*;
 @Schema(description = "Representa um pedido de compra")
 public class Order {
 
+    /**
+     * Grafo usado nas telas de listagem e detalhe: usuário, itens e produtos dos itens.
+     */
+    public static final String GRAPH_DETAILS = "Order.details";
+
+    private static final Logger log = LoggerFactory.getLogger(Order.class);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     @Schema(description = "ID único do pedido", example = "1001")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @NotNull(message = "User is required")
+    @JsonIgnoreProperties("orders")
     @Schema(description = "Usuário que fez o pedido")
     private User user;
 
     @NotNull(message = "Total amount is required")
     @Schema(description = "Valor total do pedido", example = "299.90")
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
     @Enumerated(EnumType.STRING)
     @NotNull(message = "Order status is required")
@@ -44,6 +69,7 @@ public class Order {
     private OrderStatus status;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @JsonManagedReference(value = "order-orderItems")
     @Schema(description = "Itens do pedido")
     private List<OrderItem> orderItems = new ArrayList<>();
@@ -51,21 +77,143 @@ public class Order {
     @Schema(description = "Data e hora do pedido", example = "2025-04-01T10:15:30")
     private LocalDateTime orderDate = LocalDateTime.now();
 
+    @Version
+    @Schema(description = "Versão do pedido, incrementada a cada alteração. Envie a versão lida ao atualizar "
+            + "o pedido (ou a ETag no If-Match) para que edições concorrentes sejam recusadas em vez de sobrescritas", example = "2")
+    private Long version;
+
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Data e hora da última alteração", example = "2025-04-01T10:20:00Z", accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant updatedAt;
+
     /**
-     * Adiciona um item ao pedido e atualiza o total.
+     * Adiciona um item ao pedido e atualiza o total de forma incremental.
      */
     public void addItem(OrderItem item) {
         orderItems.add(item);
         item.setOrder(this);
-        recalculateTotal();
+        applySubtotalChange(null, item.getSubtotal());
+    }
+
+    /**
+     * Remove um item do pedido e desconta seu subtotal do total.
+     */
+    public void removeItem(OrderItem item) {
+        if (orderItems.remove(item)) {
+            applySubtotalChange(item.getSubtotal(), null);
+            item.setOrder(null);
+        }
+    }
+
+    /**
+     * Substitui os itens do pedido alterando só o que mudou: a linha de um produto que continua no
+     * pedido tem a quantidade atualizada, produtos novos viram linhas novas e os que saíram são removidos.
+     * Itens repetidos do mesmo produto são somados em uma linha.
+     */
+    public void replaceItems(List<OrderItem> items) {
+        Map<Long, OrderItem> wanted = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            if (item.getQuantity() == null) {
+                throw new IllegalArgumentException("Quantidade do item do pedido não informada");
+            }
+            OrderItem line = wanted.putIfAbsent(item.getProduct().getId(), item);
+            if (line != null) {
+                line.setQuantity(line.getQuantity() + item.getQuantity());
+            }
+        }
+        for (OrderItem current : new ArrayList<>(orderItems)) {
+            OrderItem target = wanted.remove(current.getProduct().getId());
+            if (target == null) {
+                removeItem(current);
+            } else {
+                current.setProduct(target.getProduct());
+                updateItemQuantity(current, target.getQuantity());
+            }
+        }
+        for (OrderItem added : wanted.values()) {
+            added.setId(null);
+            added.calculateSubtotal();
+            addItem(added);
+        }
+    }
+
+    /**
+     * Remove todos os itens e zera o total.
+     */
+    public void clearItems() {
+        orderItems.forEach(item -> item.setOrder(null));
+        orderItems.clear();
+        this.totalAmount = Money.ZERO;
+    }
+
+    /**
+     * Altera a quantidade de um item do pedido, recalculando o subtotal e ajustando o total pela diferença.
+     */
+    public void updateItemQuantity(OrderItem item, Integer quantity) {
+        Money previousSubtotal = item.getSubtotal();
+        item.setQuantity(quantity);
+        item.calculateSubtotal();
+        applySubtotalChange(previousSubtotal, item.getSubtotal());
+    }
+
+    /**
+     * Calcula o subtotal de cada item e o total do pedido em centavos, criando o {@link Money} do total uma só vez.
+     *
+     * @throws ArithmeticException se o total não couber em {@code long} centavos
+     */
+    public void calculateTotals() {
+        long total = 0;
+        for (OrderItem item : orderItems) {
+            total = Math.addExact(total, item.calculateSubtotal());
+        }
+        this.totalAmount = Money.ofCents(total);
     }
 
     /**
      * Recalcula o valor total do pedido.
      */
     public void recalculateTotal() {
-        this.totalAmount = orderItems.stream()
-            .map(OrderItem::getSubtotal)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.totalAmount = Money.ofCents(sumSubtotalCents());
+    }
+
+    /**
+     * Confere o total mantido incrementalmente com a soma dos itens.
+     * Em caso de divergência, registra um aviso e corrige o total.
+     *
+     * @return {@code true} se o total estava correto
+     */
+    public boolean verifyTotal() {
+        long expected = sumSubtotalCents();
+        if (totalAmount != null && totalAmount.cents() == expected) {
+            return true;
+        }
+        log.warn("Total do pedido {} divergente: mantido={}, recalculado={}", id, totalAmount, Money.ofCents(expected));
+        this.totalAmount = Money.ofCents(expected);
+        return false;
+    }
+
+    /**
+     * Soma em centavos, sem criar objetos por item.
+     */
+    private long sumSubtotalCents() {
+        long total = 0;
+        for (OrderItem item : orderItems) {
+            if (item.getSubtotal() != null) {
+                total = Math.addExact(total, item.getSubtotal().cents());
+            }
+        }
+        return total;
+    }
+
+    private void applySubtotalChange(Money previousSubtotal, Money newSubtotal) {
+        long total = totalAmount != null ? totalAmount.cents() : 0;
+        if (previousSubtotal != null) {
+            total = Math.subtractExact(total, previousSubtotal.cents());
+        }
+        if (newSubtotal != null) {
+            total = Math.addExact(total, newSubtotal.cents());
+        }
+        this.totalAmount = Money.ofCents(total);
     }
 }
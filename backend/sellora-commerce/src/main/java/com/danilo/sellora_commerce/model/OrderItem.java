@@ -1,11 +1,10 @@
 package com.danilo.sellora_commerce.model;
 
-import java.math.BigDecimal;
-
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -21,7 +20,8 @@ import lombok.*;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     @Schema(description = "ID único do item do pedido", example = "101")
     private Long id;
 
@@ -33,7 +33,6 @@ public class OrderItem {
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "product_id", nullable = false)
-    @JsonBackReference(value = "product-orderItems")
     @Schema(description = "Produto associado a este item do pedido")
     private Product product;
 
@@ -43,14 +42,27 @@ public class OrderItem {
 
     @NotNull(message = "Subtotal is required")
     @Schema(description = "Subtotal calculado com base no preço do produto e quantidade", example = "199.98")
-    private BigDecimal subtotal;
+    private Money subtotal;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versão do item, incrementada a cada alteração", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
 
     /**
      * Calcula o subtotal do item do pedido com base no preço do produto e quantidade.
+     * A conta é feita em centavos e o subtotal atual é mantido quando o valor não muda.
+     *
+     * @return o subtotal em centavos, ou 0 se ainda não houver subtotal
+     * @throws ArithmeticException se o subtotal não couber em {@code long} centavos
      */
-    public void calculateSubtotal() {
+    public long calculateSubtotal() {
         if (product != null && product.getPrice() != null && quantity != null) {
-            this.subtotal = product.getPrice().multiply(BigDecimal.valueOf(quantity));
+            long cents = Math.multiplyExact(product.getPrice().cents(), (long) quantity);
+            if (subtotal == null || subtotal.cents() != cents) {
+                this.subtotal = Money.ofCents(cents);
+            }
         }
+        return subtotal != null ? subtotal.cents() : 0;
     }
 }
@@ -0,0 +1,68 @@
+package com.danilo.sellora_commerce.model;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Evento gravado na mesma transação da mudança que o originou e processado depois,
+ * em lote, pelo {@link com.danilo.sellora_commerce.service.OutboxDispatcher}.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_pending", columnList = "processed_at, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Schema(description = "Evento pendente de processamento assíncrono")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    @Schema(description = "Tipo do evento", example = "OrderStatusChanged")
+    private String eventType;
+
+    @Column(nullable = false)
+    @Schema(description = "ID da entidade que originou o evento", example = "1001")
+    private Long aggregateId;
+
+    // pedidos com muitos itens geram payloads grandes: sem limite de tamanho
+    @Lob
+    @Column(nullable = false)
+    @Schema(description = "Dados do evento em JSON")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public OutboxEvent(String eventType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+}
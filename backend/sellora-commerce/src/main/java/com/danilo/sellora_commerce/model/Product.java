@@ -1,6 +1,11 @@
 package com.danilo.sellora_commerce.model;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -30,7 +35,7 @@ public class Product {
     @NotNull(message = "O preço é obrigatório")
     @Column(precision = 10, scale = 2)
     @Schema(description = "Preço do produto", example = "2999.90")
-    private BigDecimal price;
+    private Money price;
 
     @Size(max = 1000, message = "A descrição deve ter no máximo 1000 caracteres")
     @Schema(description = "Descrição detalhada do produto", example = "Smartphone com tela AMOLED de 6.1 polegadas e 128GB de armazenamento")
@@ -39,4 +44,14 @@ public class Product {
     @Size(max = 500, message = "A URL da imagem deve ter no máximo 500 caracteres")
     @Schema(description = "URL da imagem do produto", example = "https://meusite.com/imagens/produto123.jpg")
     private String imageUrl;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versão do produto, incrementada a cada alteração", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Data e hora da última alteração", example = "2025-04-01T10:15:30Z", accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant updatedAt;
 }
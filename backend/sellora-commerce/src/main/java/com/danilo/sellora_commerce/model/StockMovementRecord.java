@@ -0,0 +1,54 @@
+package com.danilo.sellora_commerce.model;
+
+import java.time.LocalDateTime;
+
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Movimento de estoque gerado por um evento do outbox. Gravado na mesma transação que marca o evento como
+ * processado: a chave primária é o ID do evento, então o mesmo evento nunca movimenta o estoque duas vezes.
+ */
+@Entity
+@Table(name = "stock_movements")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Schema(description = "Baixa ou devolução de reserva aplicada por um evento do outbox")
+public class StockMovementRecord {
+
+    @Id
+    @Schema(description = "ID do evento do outbox que gerou o movimento", example = "1001")
+    private Long eventId;
+
+    @Column(nullable = false)
+    @Schema(description = "ID do pedido", example = "1001")
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Status que encerrou a reserva: COMPLETED baixa o estoque, os demais devolvem", example = "CANCELED")
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime appliedAt;
+
+    public StockMovementRecord(Long eventId, Long orderId, OrderStatus status, LocalDateTime appliedAt) {
+        this.eventId = eventId;
+        this.orderId = orderId;
+        this.status = status;
+        this.appliedAt = appliedAt;
+    }
+}
@@ -5,6 +5,8 @@ import java.util.List;
 
 import com.danilo.sellora_commerce.model.enums.UserType;
 
+import org.hibernate.annotations.BatchSize;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -88,6 +90,7 @@ public class User {
     private Boolean status = true;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Schema(description = "Lista de pedidos do usuário")
     private List<Order> orders;
 
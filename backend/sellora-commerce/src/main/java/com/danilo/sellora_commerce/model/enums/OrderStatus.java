@@ -1,5 +1,35 @@
 package com.danilo.sellora_commerce.model.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING, PROCESSING, SHIPPED, DELIVERED, CANCELED, COMPLETED;
+
+    /**
+     * Indica se um pedido neste status mantém o estoque dos seus itens reservado.
+     * Pedidos concluídos já baixaram o estoque e pedidos cancelados o devolveram.
+     */
+    public boolean holdsStockReservation() {
+        return this != CANCELED && this != COMPLETED;
+    }
+
+    /**
+     * Status para os quais o pedido pode ir a partir deste:
+     * PENDING → PROCESSING → SHIPPED → DELIVERED → COMPLETED, com cancelamento antes do envio.
+     * CANCELED e COMPLETED são finais.
+     */
+    public Set<OrderStatus> nextStatuses() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PROCESSING, CANCELED);
+            case PROCESSING -> EnumSet.of(SHIPPED, CANCELED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED -> EnumSet.of(COMPLETED);
+            case CANCELED, COMPLETED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return nextStatuses().contains(target);
+    }
 }
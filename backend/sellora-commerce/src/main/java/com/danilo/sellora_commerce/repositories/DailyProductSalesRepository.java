@@ -0,0 +1,24 @@
+package com.danilo.sellora_commerce.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.danilo.sellora_commerce.dtos.ProductSalesDTO;
+import com.danilo.sellora_commerce.model.DailyProductSales;
+
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, DailyProductSales.Key> {
+
+    /**
+     * Produtos mais vendidos no período, somando as linhas diárias (uma por produto e dia).
+     */
+    @Query("select new com.danilo.sellora_commerce.dtos.ProductSalesDTO(s.productId, sum(s.units), sum(s.revenue)) "
+            + "from DailyProductSales s where s.salesDate between :from and :to "
+            + "group by s.productId order by sum(s.revenue) desc, s.productId")
+    List<ProductSalesDTO> findTopProducts(LocalDate from, LocalDate to, Pageable pageable);
+}
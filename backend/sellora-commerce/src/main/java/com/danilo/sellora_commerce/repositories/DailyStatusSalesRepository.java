@@ -0,0 +1,15 @@
+package com.danilo.sellora_commerce.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.danilo.sellora_commerce.model.DailyStatusSales;
+
+@Repository
+public interface DailyStatusSalesRepository extends JpaRepository<DailyStatusSales, DailyStatusSales.Key> {
+
+    List<DailyStatusSales> findBySalesDateBetweenOrderBySalesDate(LocalDate from, LocalDate to);
+}
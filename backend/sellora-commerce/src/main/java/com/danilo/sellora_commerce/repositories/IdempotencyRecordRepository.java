@@ -0,0 +1,40 @@
+package com.danilo.sellora_commerce.repositories;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.danilo.sellora_commerce.model.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.response = :response, r.completedAt = :completedAt where r.idempotencyKey = :key")
+    int complete(String key, String response, LocalDateTime completedAt);
+
+    /**
+     * Libera a reserva de uma operação que falhou. Chaves que já têm resposta não são removidas.
+     */
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.response is null")
+    int release(String key);
+
+    /**
+     * Libera a reserva de uma operação abandonada: sem resposta e reservada antes de {@code claimedBefore}.
+     */
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.response is null and r.createdAt < :claimedBefore")
+    int releaseAbandoned(String key, LocalDateTime claimedBefore);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.expiresAt < :now")
+    int deleteIfExpired(String key, LocalDateTime now);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -1,11 +1,97 @@
 package com.danilo.sellora_commerce.repositories;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.danilo.sellora_commerce.dtos.OrderExportLine;
+import com.danilo.sellora_commerce.dtos.VersionStamp;
 import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    
+
+    /**
+     * Lista os pedidos já com usuário, itens e produtos carregados em uma única consulta.
+     */
+    @EntityGraph(Order.GRAPH_DETAILS)
+    @Query("select distinct o from Order o order by o.id")
+    List<Order> findAllWithDetails();
+
+    /**
+     * Busca um pedido com usuário, itens e produtos carregados em uma única consulta.
+     */
+    @EntityGraph(Order.GRAPH_DETAILS)
+    Optional<Order> findWithDetailsById(Long id);
+
+    /**
+     * Troca o status somente se o pedido ainda estiver no status e na versão lidos (compare-and-set no banco).
+     * A versão garante que os itens usados para calcular os efeitos da troca não mudaram nesse meio-tempo.
+     * Por ser um update em massa, incrementa a versão e a data de alteração explicitamente.
+     *
+     * @return 1 se o status foi alterado, 0 se outro processo mudou o pedido antes
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :target, o.version = o.version + 1, o.updatedAt = :updatedAt "
+            + "where o.id = :id and o.status = :expected and o.version = :expectedVersion")
+    int updateStatus(Long id, OrderStatus expected, Long expectedVersion, OrderStatus target, Instant updatedAt);
+
+    @Query("select o.status from Order o where o.id = :id")
+    Optional<OrderStatus> findStatusById(Long id);
+
+    /**
+     * Versão da linha do pedido, sem carregar a entidade. {@code rows} é 0 se o pedido não existir.
+     */
+    @Query("select new com.danilo.sellora_commerce.dtos.VersionStamp(count(o), sum(o.version), max(o.id), max(o.updatedAt)) "
+            + "from Order o where o.id = :id")
+    VersionStamp findVersionById(Long id);
+
+    /**
+     * Versão dos itens do pedido e dos produtos deles, que também aparecem na resposta.
+     */
+    @Query("select new com.danilo.sellora_commerce.dtos.VersionStamp(count(i), sum(i.version + p.version), max(i.id), max(p.updatedAt)) "
+            + "from OrderItem i join i.product p where i.order.id = :id")
+    VersionStamp findItemsVersionByOrderId(Long id);
+
+    @Query("select new com.danilo.sellora_commerce.dtos.VersionStamp(count(o), sum(o.version), max(o.id), max(o.updatedAt)) "
+            + "from Order o")
+    VersionStamp findCollectionVersion();
+
+    @Query("select new com.danilo.sellora_commerce.dtos.VersionStamp(count(i), sum(i.version + p.version), max(i.id), max(p.updatedAt)) "
+            + "from OrderItem i join i.product p")
+    VersionStamp findItemsCollectionVersion();
+
+    /**
+     * Percorre pedidos e itens do período com um cursor do banco, uma linha por item, em ordem de pedido.
+     * Retorna projeções, não entidades, então o contexto de persistência não cresce durante a leitura.
+     * Deve ser consumido dentro de uma transação e fechado ao final. O Connector/J só respeita o fetch size
+     * com useCursorFetch=true na URL; sem ele o MySQL devolve todas as linhas de uma vez.
+     */
+    @Query("select new com.danilo.sellora_commerce.dtos.OrderExportLine("
+            + "o.id, o.orderDate, o.status, u.id, u.username, o.totalAmount, i.id, p.id, p.name, i.quantity, i.subtotal) "
+            + "from Order o join o.user u left join o.orderItems i left join i.product p "
+            + "where o.orderDate >= :from and o.orderDate < :to and o.status in :statuses "
+            + "order by o.id, i.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<OrderExportLine> streamExport(LocalDateTime from, LocalDateTime to, Collection<OrderStatus> statuses);
+
 }
@@ -0,0 +1,47 @@
+package com.danilo.sellora_commerce.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.danilo.sellora_commerce.model.OutboxEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Valor de jakarta.persistence.lock.timeout que o Hibernate traduz para skip locked.
+     */
+    String SKIP_LOCKED = "-2";
+
+    /**
+     * Próximos eventos pendentes depois de {@code after}, em ordem de criação, ignorando os que já esgotaram as tentativas.
+     * As linhas ficam travadas até o fim da transação (for update skip locked): outra instância que
+     * busque ao mesmo tempo pula esses eventos em vez de processá-los também.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = SKIP_LOCKED))
+    @Query("select e from OutboxEvent e where e.processedAt is null and e.attempts < :maxAttempts and e.id > :after order by e.id")
+    List<OutboxEvent> findPending(int maxAttempts, long after, Pageable pageable);
+
+    long countByProcessedAtIsNull();
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.lastError = :error where e.id = :id and e.processedAt is null")
+    int recordFailure(Long id, String error);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.processedAt < :before")
+    int deleteProcessedBefore(LocalDateTime before);
+}
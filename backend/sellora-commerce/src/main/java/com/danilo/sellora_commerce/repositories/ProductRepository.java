@@ -1,11 +1,47 @@
 package com.danilo.sellora_commerce.repositories;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.danilo.sellora_commerce.dtos.VersionStamp;
 import com.danilo.sellora_commerce.model.Product;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    
+
+    /**
+     * Página por cursor (keyset): retorna os produtos com ID maior que o cursor, em ordem crescente.
+     */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Percorre todo o catálogo com um cursor do banco, buscando as linhas em lotes.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * No MySQL os lotes dependem de useCursorFetch=true na URL (veja application-mysql.properties).
+     */
+    @Query("select p from Product p order by p.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Product> streamAllOrderById();
+
+    /**
+     * Mesma página de {@link #findByIdGreaterThanOrderByIdAsc}, trazendo só ID, versão e data de alteração.
+     */
+    @Query("select new com.danilo.sellora_commerce.dtos.VersionStamp(p.id, p.version, p.updatedAt) "
+            + "from Product p where p.id > :afterId order by p.id")
+    List<VersionStamp> findVersionsAfter(Long afterId, Pageable pageable);
+
 }
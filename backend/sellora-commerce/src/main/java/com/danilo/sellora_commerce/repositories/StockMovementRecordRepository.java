@@ -0,0 +1,11 @@
+package com.danilo.sellora_commerce.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.danilo.sellora_commerce.model.StockMovementRecord;
+
+@Repository
+public interface StockMovementRecordRepository extends JpaRepository<StockMovementRecord, Long> {
+
+}
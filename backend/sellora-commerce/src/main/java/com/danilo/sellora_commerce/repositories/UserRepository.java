@@ -1,12 +1,24 @@
 package com.danilo.sellora_commerce.repositories;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.danilo.sellora_commerce.dtos.UserDTO;
+import com.danilo.sellora_commerce.dtos.UserKeysDTO;
 import com.danilo.sellora_commerce.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -16,4 +28,39 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByDocument(String document);
 
+    boolean existsByUsername(String username);
+
+    boolean existsByEmail(String email);
+
+    boolean existsByDocument(String document);
+
+    @Query("select new com.danilo.sellora_commerce.dtos.UserKeysDTO(u.id, u.username, u.email, u.document) from User u")
+    List<UserKeysDTO> findAllKeys();
+
+    /**
+     * Página por cursor (keyset) projetada direto em {@link UserDTO}: nenhuma entidade User é
+     * criada nem acompanhada pelo contexto de persistência.
+     */
+    @Query("select new com.danilo.sellora_commerce.dtos.UserDTO(u.id, u.username, u.email, u.phone, u.document, u.fullName, u.userType) "
+            + "from User u where u.id > :afterId order by u.id")
+    List<UserDTO> findSummariesAfter(Long afterId, Pageable pageable);
+
+    /**
+     * Percorre todos os usuários como {@link UserDTO}, buscando as linhas em lotes (no MySQL, com useCursorFetch=true).
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @Query("select new com.danilo.sellora_commerce.dtos.UserDTO(u.id, u.username, u.email, u.phone, u.document, u.fullName, u.userType) "
+            + "from User u order by u.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserDTO> streamSummaries();
+
+    /**
+     * Quantidade de usuários por tipo, como pares [UserType, Long]. Tipos sem usuários não aparecem.
+     */
+    @Query("select u.userType, count(u) from User u group by u.userType")
+    List<Object[]> countByUserType();
+
 }
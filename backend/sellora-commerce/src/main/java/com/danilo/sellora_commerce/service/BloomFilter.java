@@ -0,0 +1,67 @@
+package com.danilo.sellora_commerce.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom thread-safe para strings. Responde "com certeza não existe" ou "talvez exista";
+ * não suporta remoção, então entradas removidas continuam dando falso positivo até a reconstrução.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long expected = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        this.bitCount = Math.max(64, (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * ln2));
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) >>> 6));
+    }
+
+    void add(String value) {
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            long current;
+            while (((current = words.get(index)) & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+                // outra thread alterou a mesma palavra; tenta de novo
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido da finalização do MurmurHash3 para espalhar os bits.
+     */
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,291 @@
+package com.danilo.sellora_commerce.service;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.danilo.sellora_commerce.exceptions.IdempotencyKeyInProgressException;
+import com.danilo.sellora_commerce.exceptions.IdempotencyKeyMismatchException;
+import com.danilo.sellora_commerce.model.IdempotencyRecord;
+import com.danilo.sellora_commerce.repositories.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Executa uma operação no máximo uma vez por chave de idempotência e devolve a mesma resposta nas repetições.
+ *
+ * Na frente fica um mapa em memória com as chaves em andamento e as respostas recentes: repetições
+ * concorrentes esperam a primeira requisição terminar e repetições próximas respondem sem consultar o banco.
+ * Atrás, a tabela idempotency_keys reserva a chave antes da operação e guarda a resposta, gravada na mesma
+ * transação do resultado; ela vale entre instâncias e reinícios até o ttl.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${sellora.orders.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${sellora.orders.idempotency.cache-ttl:10m}")
+    private Duration cacheTtl;
+
+    @Value("${sellora.orders.idempotency.wait-timeout:30s}")
+    private Duration waitTimeout;
+
+    @Value("${sellora.orders.idempotency.abandoned-after:2m}")
+    private Duration abandonedAfter;
+
+    // Mesma configuração dos conversores do Spring MVC (@EnableWebMvc): a resposta guardada tem o formato da resposta comum
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private Counter executed;
+    private Counter replayed;
+
+    /**
+     * @param body     resposta em JSON, exatamente como foi gravada na primeira execução
+     * @param replayed {@code true} quando a resposta veio de uma execução anterior
+     */
+    public record Result(String body, boolean replayed) {
+    }
+
+    /**
+     * Chave em andamento ou concluída nesta instância. A resposta fica em memória até {@code cachedUntilNanos}.
+     */
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+        private volatile long cachedUntilNanos;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired(long nowNanos) {
+            return response.isDone() && !response.isCompletedExceptionally() && nowNanos - cachedUntilNanos > 0;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        executed = meterRegistry.counter("sellora.idempotency.requests", "outcome", "executed");
+        replayed = meterRegistry.counter("sellora.idempotency.requests", "outcome", "replayed");
+        Gauge.builder("sellora.idempotency.cached", entries, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Executa {@code operation} uma única vez para {@code key}. Repetições com o mesmo conteúdo recebem a resposta
+     * guardada; com outro conteúdo, {@link IdempotencyKeyMismatchException}. Se a operação falhar, a chave é liberada
+     * e a próxima repetição executa de novo.
+     *
+     * @param request   representação canônica da requisição, comparada entre as repetições
+     * @param operation recebe a função que grava a resposta; ela deve ser chamada dentro da transação que grava o resultado
+     * @throws IdempotencyKeyInProgressException se a primeira requisição não terminar dentro de wait-timeout
+     */
+    public <T> Result execute(String key, String request, Function<Consumer<T>, T> operation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("O cabeçalho " + HEADER + " deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String fingerprint = sha256(request);
+        while (true) {
+            Entry entry = new Entry(fingerprint);
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                return executeFirst(key, entry, operation);
+            }
+            if (existing.isExpired(System.nanoTime())) {
+                entries.remove(key, existing);
+                continue;
+            }
+            requireSameRequest(key, existing.fingerprint, fingerprint);
+            String body = await(key, existing);
+            if (body != null) {
+                replayed.increment();
+                return new Result(body, true);
+            }
+            // a primeira requisição falhou e liberou a chave: esta executa a operação
+        }
+    }
+
+    private <T> Result executeFirst(String key, Entry entry, Function<Consumer<T>, T> operation) {
+        try {
+            Result result = executeOnce(key, entry.fingerprint, operation);
+            entry.cachedUntilNanos = System.nanoTime() + cacheTtl.toNanos();
+            entry.response.complete(result.body());
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> Result executeOnce(String key, String fingerprint, Function<Consumer<T>, T> operation) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord stored = transactionTemplate.execute(tx -> idempotencyRecordRepository.findById(key).orElse(null));
+        if (stored != null && stored.getExpiresAt().isBefore(now)) {
+            transactionTemplate.executeWithoutResult(tx -> idempotencyRecordRepository.deleteIfExpired(key, now));
+            stored = null;
+        }
+        if (stored != null) {
+            requireSameRequest(key, stored.getFingerprint(), fingerprint);
+            if (stored.getResponse() != null) {
+                replayed.increment();
+                return new Result(stored.getResponse(), true);
+            }
+            // reservada e sem resposta: outra instância está executando, a menos que a reserva tenha sido abandonada
+            LocalDateTime claimedBefore = now.minus(abandonedAfter);
+            if (!removed(transactionTemplate.execute(tx -> idempotencyRecordRepository.releaseAbandoned(key, claimedBefore)))) {
+                throw inProgress(key);
+            }
+        }
+
+        claim(key, fingerprint, now);
+        String[] body = new String[1];
+        try {
+            operation.apply(result -> body[0] = complete(key, result));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(tx -> idempotencyRecordRepository.release(key));
+            throw e;
+        }
+        if (body[0] == null) {
+            throw new IllegalStateException("A operação com " + HEADER + " " + key + " não registrou a resposta");
+        }
+        executed.increment();
+        return new Result(body[0], false);
+    }
+
+    /**
+     * Insere a reserva. A chave primária garante que só uma instância executa a operação.
+     */
+    private void claim(String key, String fingerprint, LocalDateTime now) {
+        IdempotencyRecord record = new IdempotencyRecord(key, fingerprint, now, now.plus(ttl));
+        try {
+            transactionTemplate.executeWithoutResult(tx -> entityManager.persist(record));
+        } catch (DataIntegrityViolationException e) {
+            throw inProgress(key);
+        }
+    }
+
+    /**
+     * Chamado na transação da operação: a resposta só fica gravada se o resultado também ficar.
+     */
+    private String complete(String key, Object result) {
+        // versão e datas geradas na gravação entram na resposta
+        entityManager.flush();
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        idempotencyRecordRepository.complete(key, body, LocalDateTime.now());
+        return body;
+    }
+
+    private static boolean removed(Integer count) {
+        return count != null && count > 0;
+    }
+
+    /**
+     * @return a resposta da primeira requisição, ou {@code null} se ela falhou
+     */
+    private String await(String key, Entry entry) {
+        try {
+            return entry.response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw inProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    /**
+     * Remove as respostas vencidas da memória e do banco.
+     */
+    @Scheduled(fixedDelayString = "${sellora.orders.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long nowNanos = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(nowNanos));
+        Integer removed = transactionTemplate.execute(tx -> idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+        if (removed != null && removed > 0) {
+            logger.info("{} chaves de idempotência vencidas removidas", removed);
+        }
+    }
+
+    /**
+     * Esquece as respostas em memória, como após um reinício (usado nos testes).
+     */
+    void clearLocalCache() {
+        entries.clear();
+    }
+
+    private static void requireSameRequest(String key, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyMismatchException("A chave " + key + " já foi usada com outro conteúdo de requisição");
+        }
+    }
+
+    private static IdempotencyKeyInProgressException inProgress(String key) {
+        return new IdempotencyKeyInProgressException("A requisição com " + HEADER + " " + key + " ainda está em andamento");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
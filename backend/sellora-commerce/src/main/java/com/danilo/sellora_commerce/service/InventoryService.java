@@ -0,0 +1,292 @@
+package com.danilo.sellora_commerce.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.danilo.sellora_commerce.config.ReplicaRoutingDataSource;
+import com.danilo.sellora_commerce.dtos.InventoryDTO;
+import com.danilo.sellora_commerce.exceptions.InsufficientStockException;
+import com.danilo.sellora_commerce.exceptions.ProductNotFoundException;
+import com.danilo.sellora_commerce.model.Inventory;
+import com.danilo.sellora_commerce.repositories.InventoryRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Controle de estoque com reservas.
+ *
+ * Os contadores de cada produto ficam em memória e são alterados com CAS, sem lock no banco,
+ * então vários checkouts do mesmo produto não disputam a mesma linha. As alterações são gravadas
+ * em lote periodicamente (sellora.inventory.flush-interval-ms) e no desligamento da aplicação.
+ * Esta instância é a dona dos contadores: não há coordenação entre várias instâncias.
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
+
+    private static final String UPDATE_SQL = "update inventory set available = ?, reserved = ? where product_id = ?";
+
+    /**
+     * Marca, no mapa de contadores, produtos que não têm controle de estoque.
+     */
+    private static final StockCounter UNTRACKED = new StockCounter(0, 0);
+
+    private final Map<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Alteração aplicada ao estoque de um produto. Pode ser desfeita com {@link #revert(List)}.
+     */
+    public record StockMovement(Long productId, long availableDelta, long reservedDelta) {
+    }
+
+    @Operation(summary = "Consultar estoque de um produto")
+    public InventoryDTO getInventory(Long productId) {
+        StockCounter counter = counter(productId);
+        if (counter == UNTRACKED) {
+            return new InventoryDTO(productId, false, 0, 0);
+        }
+        return new InventoryDTO(productId, true, counter.available.get(), counter.reserved.get());
+    }
+
+    /**
+     * Define a quantidade disponível de um produto, passando a controlar seu estoque.
+     * A gravação é imediata; as reservas existentes são mantidas.
+     */
+    @Operation(summary = "Definir estoque disponível de um produto")
+    public InventoryDTO setAvailable(Long productId, long available) {
+        if (available < 0) {
+            throw new IllegalArgumentException("A quantidade disponível não pode ser negativa");
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException("Produto não encontrado com o ID: " + productId);
+        }
+        StockCounter counter = counter(productId);
+        if (counter == UNTRACKED) {
+            counters.replace(productId, UNTRACKED, new StockCounter(0, 0));
+            counter = counters.get(productId);
+        }
+        counter.available.set(available);
+        inventoryRepository.save(new Inventory(productId, counter.available.get(), counter.reserved.get()));
+        return getInventory(productId);
+    }
+
+    /**
+     * Deixa de controlar o estoque de um produto excluído: apaga a linha e descarta o contador em memória.
+     * A linha sai antes do contador para que uma nova carga do contador não traga de volta os valores antigos.
+     */
+    public void remove(Long productId) {
+        inventoryRepository.deleteById(productId);
+        counters.remove(productId);
+        dirty.remove(productId);
+    }
+
+    /**
+     * Reserva as quantidades informadas. Se algum produto não tiver estoque suficiente,
+     * nada é reservado.
+     */
+    public List<StockMovement> reserve(Map<Long, Integer> quantities) {
+        return adjustReservation(Collections.emptyMap(), quantities);
+    }
+
+    /**
+     * Leva a reserva atual até a reserva desejada, reservando o que aumentou e devolvendo
+     * o que diminuiu. Se algum produto não tiver estoque suficiente, nada é alterado.
+     */
+    public List<StockMovement> adjustReservation(Map<Long, Integer> current, Map<Long, Integer> target) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        target.forEach((productId, quantity) -> deltas.merge(productId, (long) quantity, Long::sum));
+        current.forEach((productId, quantity) -> deltas.merge(productId, -(long) quantity, Long::sum));
+
+        List<StockMovement> movements = new ArrayList<>();
+        try {
+            deltas.forEach((productId, delta) -> {
+                StockMovement movement = delta > 0 ? reserveOne(productId, delta) : releaseOne(productId, -delta, true);
+                if (movement != null) {
+                    movements.add(movement);
+                }
+            });
+        } catch (RuntimeException e) {
+            revert(movements);
+            throw e;
+        }
+        return movements;
+    }
+
+    /**
+     * Devolve ao estoque disponível as quantidades reservadas.
+     */
+    public List<StockMovement> release(Map<Long, Integer> quantities) {
+        return consumeReservation(quantities, true);
+    }
+
+    /**
+     * Confirma a saída das quantidades reservadas (baixa definitiva do estoque).
+     */
+    public List<StockMovement> commit(Map<Long, Integer> quantities) {
+        return consumeReservation(quantities, false);
+    }
+
+    /**
+     * Desfaz movimentos aplicados anteriormente, na ordem inversa.
+     */
+    public void revert(List<StockMovement> movements) {
+        for (int i = movements.size() - 1; i >= 0; i--) {
+            StockMovement movement = movements.get(i);
+            StockCounter counter = counter(movement.productId());
+            if (counter != UNTRACKED) {
+                counter.available.addAndGet(-movement.availableDelta());
+                counter.reserved.addAndGet(-movement.reservedDelta());
+                dirty.add(movement.productId());
+            }
+        }
+    }
+
+    /**
+     * Grava em lote os contadores alterados desde a última execução.
+     */
+    @Scheduled(fixedDelayString = "${sellora.inventory.flush-interval-ms:1000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Iterator<Long> iterator = dirty.iterator(); iterator.hasNext();) {
+            Long productId = iterator.next();
+            iterator.remove();
+            StockCounter counter = counters.get(productId);
+            if (counter != null && counter != UNTRACKED) {
+                productIds.add(productId);
+                rows.add(new Object[] { counter.available.get(), counter.reserved.get(), productId });
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        } catch (RuntimeException e) {
+            dirty.addAll(productIds);
+            logger.error("Falha ao gravar o estoque de {} produtos; nova tentativa no próximo ciclo", rows.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<StockMovement> consumeReservation(Map<Long, Integer> quantities, boolean returnToAvailable) {
+        List<StockMovement> movements = new ArrayList<>();
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            StockMovement movement = releaseOne(productId, quantity, returnToAvailable);
+            if (movement != null) {
+                movements.add(movement);
+            }
+        });
+        return movements;
+    }
+
+    private StockMovement reserveOne(Long productId, long quantity) {
+        StockCounter counter = counter(productId);
+        if (counter == UNTRACKED) {
+            return null;
+        }
+        if (!counter.tryTakeAvailable(quantity)) {
+            throw new InsufficientStockException("Estoque insuficiente para o produto com ID: " + productId);
+        }
+        counter.reserved.addAndGet(quantity);
+        dirty.add(productId);
+        return new StockMovement(productId, -quantity, quantity);
+    }
+
+    /**
+     * Retira até {@code quantity} da reserva. Pedidos criados antes do produto ter controle de
+     * estoque não reservaram nada, por isso nunca se retira mais do que está reservado.
+     */
+    private StockMovement releaseOne(Long productId, long quantity, boolean returnToAvailable) {
+        StockCounter counter = counter(productId);
+        if (counter == UNTRACKED) {
+            return null;
+        }
+        long taken = counter.takeReserved(quantity);
+        if (taken == 0) {
+            return null;
+        }
+        long availableDelta = 0;
+        if (returnToAvailable) {
+            counter.available.addAndGet(taken);
+            availableDelta = taken;
+        }
+        dirty.add(productId);
+        return new StockMovement(productId, availableDelta, -taken);
+    }
+
+    /**
+     * O contador é gravado de volta com valores absolutos, então a carga inicial lê do primário.
+     */
+    private StockCounter counter(Long productId) {
+        return counters.computeIfAbsent(productId, id -> ReplicaRoutingDataSource.onPrimary(() -> inventoryRepository.findById(id))
+                .map(inventory -> new StockCounter(inventory.getAvailable(), inventory.getReserved()))
+                .orElse(UNTRACKED));
+    }
+
+    private static final class StockCounter {
+
+        private final AtomicLong available;
+        private final AtomicLong reserved;
+
+        private StockCounter(long available, long reserved) {
+            this.available = new AtomicLong(available);
+            this.reserved = new AtomicLong(reserved);
+        }
+
+        private boolean tryTakeAvailable(long quantity) {
+            long current;
+            do {
+                current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - quantity));
+            return true;
+        }
+
+        private long takeReserved(long quantity) {
+            long current;
+            long taken;
+            do {
+                current = reserved.get();
+                taken = Math.min(current, quantity);
+                if (taken <= 0) {
+                    return 0;
+                }
+            } while (!reserved.compareAndSet(current, current - taken));
+            return taken;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,11 +20,13 @@ public class OrderItemService {
     private OrderItemRepository orderItemRepository;
 
     @Operation(summary = "Listar todos os itens de pedidos", description = "Retorna todos os itens de pedidos cadastrados")
+    @Transactional(readOnly = true)
     public List<OrderItem> getAllOrderItems() {
         return orderItemRepository.findAll();
     }
 
     @Operation(summary = "Buscar item de pedido por ID")
+    @Transactional(readOnly = true)
     public OrderItem getOrderItemById(Long id) {
         return orderItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("OrderItem not found with ID: " + id));
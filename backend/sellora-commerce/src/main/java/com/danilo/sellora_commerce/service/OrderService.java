@@ -1,67 +1,586 @@
 package com.danilo.sellora_commerce.service;
 
+import com.danilo.sellora_commerce.dtos.OrderBatchResponse;
+import com.danilo.sellora_commerce.dtos.OrderBatchResult;
+import com.danilo.sellora_commerce.dtos.OrderExportDTO;
+import com.danilo.sellora_commerce.dtos.OrderExportLine;
+import com.danilo.sellora_commerce.dtos.OrderStatusChangedEvent;
+import com.danilo.sellora_commerce.dtos.OrderStatusDTO;
+import com.danilo.sellora_commerce.dtos.VersionStamp;
+import com.danilo.sellora_commerce.exceptions.InvalidStatusTransitionException;
+import com.danilo.sellora_commerce.exceptions.OrderPreconditionFailedException;
+import com.danilo.sellora_commerce.exceptions.OrderPreconditionRequiredException;
+import com.danilo.sellora_commerce.exceptions.OrderVersionConflictException;
+import com.danilo.sellora_commerce.exceptions.ProductNotFoundException;
 import com.danilo.sellora_commerce.model.Order;
 import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
 import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+import com.danilo.sellora_commerce.service.InventoryService.StockMovement;
+import com.danilo.sellora_commerce.service.SalesReportService.OrderChange;
+import com.danilo.sellora_commerce.service.SalesReportService.OrderSales;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Tag(name = "Pedidos", description = "Serviço para gerenciamento de pedidos")
 public class OrderService {
 
+    /** Limites usados quando a exportação não informa período (faixa aceita também pelo DATETIME do MySQL). */
+    private static final LocalDateTime EXPORT_START = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime EXPORT_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${sellora.orders.batch.chunk-size:500}")
+    private int batchChunkSize;
+
     @Operation(summary = "Buscar todos os pedidos")
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+        return orderRepository.findAllWithDetails();
     }
 
     @Operation(summary = "Buscar pedido por ID")
+    @Transactional(readOnly = true)
     public Order getOrderById(Long id) {
-        return orderRepository.findById(id)
+        return orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Pedido não encontrado com ID: " + id));
     }
 
+    /**
+     * Versão do pedido, dos itens e dos produtos dos itens, calculada no banco sem carregar o pedido.
+     * Os dados do usuário embutidos na resposta não são versionados e ficam de fora.
+     */
+    @Operation(summary = "Versão de um pedido")
+    @Transactional(readOnly = true)
+    public VersionStamp getOrderVersion(Long id) {
+        VersionStamp order = orderRepository.findVersionById(id);
+        if (order.isEmpty()) {
+            throw new RuntimeException("Pedido não encontrado com ID: " + id);
+        }
+        return order.plus(orderRepository.findItemsVersionByOrderId(id));
+    }
+
+    @Operation(summary = "Versão da lista de pedidos")
+    @Transactional(readOnly = true)
+    public VersionStamp getOrdersVersion() {
+        return orderRepository.findCollectionVersion().plus(orderRepository.findItemsCollectionVersion());
+    }
+
+    /**
+     * Mesmo cálculo de {@link #getOrderVersion} a partir de um pedido já carregado com itens e produtos.
+     */
+    public static VersionStamp versionOf(Order order) {
+        VersionStamp stamp = new VersionStamp(order.getId(), order.getVersion(), order.getUpdatedAt());
+        for (OrderItem item : order.getOrderItems()) {
+            Product product = item.getProduct();
+            stamp = stamp.plus(new VersionStamp(item.getId(), item.getVersion() + product.getVersion(), product.getUpdatedAt()));
+        }
+        return stamp;
+    }
+
+    /**
+     * Percorre os pedidos do período (datas inclusivas) e dos status informados, uma linha por item,
+     * lidos por cursor do banco. Nada é acumulado: cada linha é entregue ao consumidor e descartada.
+     */
+    @Operation(summary = "Exportar itens de pedidos")
+    @Transactional(readOnly = true)
+    public void forEachExportLine(LocalDate from, LocalDate to, Set<OrderStatus> statuses, Consumer<OrderExportLine> action) {
+        LocalDateTime start = from != null ? from.atStartOfDay() : EXPORT_START;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : EXPORT_END;
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final");
+        }
+        Set<OrderStatus> filter = statuses == null || statuses.isEmpty() ? EnumSet.allOf(OrderStatus.class) : statuses;
+        try (Stream<OrderExportLine> lines = orderRepository.streamExport(start, end, filter)) {
+            lines.forEach(action);
+        }
+    }
+
+    /**
+     * Mesma exportação de {@link #forEachExportLine}, agrupando os itens de cada pedido.
+     * Só os itens do pedido atual ficam em memória.
+     */
+    @Operation(summary = "Exportar pedidos")
+    @Transactional(readOnly = true)
+    public void forEachExportedOrder(LocalDate from, LocalDate to, Set<OrderStatus> statuses, Consumer<OrderExportDTO> action) {
+        List<OrderExportLine> current = new ArrayList<>();
+        forEachExportLine(from, to, statuses, line -> {
+            if (!current.isEmpty() && !current.get(0).orderId().equals(line.orderId())) {
+                action.accept(toExport(current));
+                current.clear();
+            }
+            current.add(line);
+        });
+        if (!current.isEmpty()) {
+            action.accept(toExport(current));
+        }
+    }
+
+    private static OrderExportDTO toExport(List<OrderExportLine> lines) {
+        OrderExportLine order = lines.get(0);
+        List<OrderExportDTO.Item> items = new ArrayList<>(lines.size());
+        for (OrderExportLine line : lines) {
+            if (line.itemId() != null) {
+                items.add(new OrderExportDTO.Item(line.itemId(), line.productId(), line.productName(), line.quantity(), line.subtotal()));
+            }
+        }
+        return new OrderExportDTO(order.orderId(), order.orderDate(), order.status(), order.userId(), order.username(),
+                order.totalAmount(), items);
+    }
+
     @Operation(summary = "Criar um novo pedido")
     public Order createOrder(Order order) {
-        // Garante que o subtotal de cada item seja calculado
+        return createOrder(order, saved -> { });
+    }
+
+    /**
+     * Cria o pedido uma única vez por chave de idempotência: repetições com o mesmo conteúdo recebem a resposta
+     * da primeira criação, sem acessar as tabelas de pedidos.
+     */
+    @Operation(summary = "Criar um novo pedido com chave de idempotência")
+    public IdempotencyService.Result createOrder(Order order, String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, requestFingerprint(order),
+                (Consumer<Order> respond) -> createOrder(order, respond));
+    }
+
+    /**
+     * @param inTransaction chamado com o pedido gravado, na mesma transação
+     */
+    private Order createOrder(Order order, Consumer<Order> inTransaction) {
+        resolveProducts(order.getOrderItems());
+
         for (OrderItem item : order.getOrderItems()) {
             item.setOrder(order);
-            item.calculateSubtotal();
         }
-        order.recalculateTotal();
-        return orderRepository.save(order);
+        // Garante que o subtotal de cada item seja calculado
+        order.calculateTotals();
+
+        List<StockMovement> stock = moveStock(Map.of(), null, quantitiesByProduct(order.getOrderItems()), order.getStatus());
+        try {
+            return transactionTemplate.execute(tx -> {
+                Order saved = orderRepository.save(order);
+                salesReportService.apply(null, OrderSales.of(saved));
+                inTransaction.accept(saved);
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            inventoryService.revert(stock);
+            throw e;
+        }
+    }
+
+    /**
+     * Cria vários pedidos em transações por lote (chunk). Os inserts de cada lote são enviados
+     * ao banco em batch JDBC; pedidos inválidos são reportados sem abortar os demais.
+     */
+    @Operation(summary = "Criar pedidos em lote")
+    public OrderBatchResponse createOrders(List<Order> orders) {
+        long start = System.nanoTime();
+        List<OrderBatchResult> results = new ArrayList<>(orders.size());
+
+        for (int from = 0; from < orders.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, orders.size());
+            results.addAll(createChunk(orders.subList(from, to), from));
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        int created = (int) results.stream().filter(OrderBatchResult::success).count();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return new OrderBatchResponse(
+                orders.size(),
+                created,
+                orders.size() - created,
+                elapsedNanos / 1_000_000,
+                seconds > 0 ? created / seconds : created,
+                results);
     }
 
+    /**
+     * Atualização com a versão lida no corpo do pedido.
+     */
     @Operation(summary = "Atualizar um pedido existente")
     public Order updateOrder(Long id, Order updatedOrder) {
+        return updateOrder(id, updatedOrder, null);
+    }
+
+    /**
+     * Substitui usuário e itens do pedido. Os itens são comparados com os atuais e só as linhas que
+     * mudaram são gravadas (veja {@link Order#replaceItems}). O cliente precisa dizer qual versão leu,
+     * pela versão no corpo ou pela ETag no If-Match; sem nenhuma das duas, a atualização é recusada
+     * para não sobrescrever às cegas. Edições concorrentes também são barradas pelo @Version ao gravar.
+     * Uma mudança de status também precisa ser uma transição válida; o efeito dela no estoque é
+     * aplicado pelo outbox, como em {@link #changeStatus}.
+     *
+     * @param ifMatch valor do cabeçalho If-Match, ou null
+     */
+    @Operation(summary = "Atualizar um pedido existente")
+    public Order updateOrder(Long id, Order updatedOrder, String ifMatch) {
+        if (updatedOrder.getVersion() == null && ifMatch == null) {
+            throw new OrderPreconditionRequiredException("Informe a versão do pedido no corpo ou a ETag no cabeçalho If-Match");
+        }
         Order existing = getOrderById(id);
+        if (updatedOrder.getVersion() != null && !updatedOrder.getVersion().equals(existing.getVersion())) {
+            throw new OrderVersionConflictException("O pedido " + id + " foi alterado por outra requisição (versão enviada "
+                    + updatedOrder.getVersion() + ", versão atual " + existing.getVersion() + "). Recarregue e tente novamente");
+        }
+        if (ifMatch != null && !etagMatches(ifMatch, versionOf(existing).etag("order"))) {
+            throw new OrderPreconditionFailedException("O pedido " + id + " foi alterado por outra requisição (If-Match "
+                    + ifMatch + "). Recarregue e tente novamente");
+        }
+        OrderSales previousSales = OrderSales.of(existing);
+        OrderStatus previousStatus = existing.getStatus();
+        OrderStatus targetStatus = updatedOrder.getStatus() != null ? updatedOrder.getStatus() : previousStatus;
+        if (targetStatus != previousStatus) {
+            requireTransition(id, previousStatus, targetStatus);
+        }
+        Map<Long, Integer> previousQuantities = quantitiesByProduct(existing.getOrderItems());
 
         existing.setUser(updatedOrder.getUser());
-        existing.setStatus(updatedOrder.getStatus());
-        existing.getOrderItems().clear();
+        existing.setStatus(targetStatus);
+        resolveProducts(updatedOrder.getOrderItems());
+        existing.replaceItems(updatedOrder.getOrderItems());
+
+        existing.verifyTotal();
+        // itens ficam em outra tabela: sem isso, trocar só os itens não mudaria a versão do pedido
+        existing.setUpdatedAt(Instant.now());
+
+        Map<Long, Integer> quantities = quantitiesByProduct(existing.getOrderItems());
+        // Aqui só os itens mudam no estoque; a mudança de status vai para o outbox
+        List<StockMovement> stock = moveStock(previousQuantities, previousStatus, quantities, previousStatus);
+        try {
+            return transactionTemplate.execute(tx -> {
+                Order saved = orderRepository.save(existing);
+                salesReportService.apply(previousSales, OrderSales.of(saved));
+                if (targetStatus != previousStatus) {
+                    recordStatusChange(id, previousStatus, targetStatus, quantities, LocalDateTime.now());
+                }
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            inventoryService.revert(stock);
+            throw e;
+        }
+    }
+
+    /**
+     * Muda apenas o status do pedido, validando a transição. A troca é um update condicional
+     * no banco (status e versão lidos) e os efeitos (estoque, notificações) são gravados no outbox na mesma transação,
+     * então o tempo de resposta não depende do trabalho que a mudança dispara.
+     */
+    @Operation(summary = "Alterar o status de um pedido")
+    @Transactional
+    public OrderStatusDTO changeStatus(Long id, OrderStatus target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Status de destino não informado");
+        }
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado com ID: " + id));
+        OrderStatus current = order.getStatus();
+        requireTransition(id, current, target);
+        Map<Long, Integer> quantities = quantitiesByProduct(order.getOrderItems());
+        OrderSales sales = OrderSales.of(order);
 
-        for (OrderItem item : updatedOrder.getOrderItems()) {
-            item.setOrder(existing);
-            item.calculateSubtotal();
-            existing.addItem(item);
+        if (orderRepository.updateStatus(id, current, order.getVersion(), target, Instant.now()) == 0) {
+            OrderStatus now = orderRepository.findStatusById(id).orElse(null);
+            if (now != current) {
+                throw new InvalidStatusTransitionException("O status do pedido " + id + " foi alterado por outra requisição");
+            }
+            // mesmo status, outra versão: os itens mudaram e as quantidades lidas já não valem
+            throw new OrderVersionConflictException("O pedido " + id + " foi alterado por outra requisição durante a "
+                    + "mudança de status. Tente novamente");
         }
+        salesReportService.apply(sales, sales.withStatus(target));
+        LocalDateTime changedAt = LocalDateTime.now();
+        recordStatusChange(id, current, target, quantities, changedAt);
+        return new OrderStatusDTO(id, current, target, target.nextStatuses(), changedAt);
+    }
+
+    /**
+     * Compara If-Match com a ETag atual. As ETags de pedido são fracas (W/), então a comparação também é
+     * fraca; a versão ainda é conferida pelo @Version ao gravar.
+     */
+    private static boolean etagMatches(String ifMatch, String current) {
+        String currentTag = current.startsWith("W/") ? current.substring(2) : current;
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(currentTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void requireTransition(Long id, OrderStatus current, OrderStatus target) {
+        if (!current.canTransitionTo(target)) {
+            throw new InvalidStatusTransitionException("Pedido " + id + " não pode passar de " + current + " para " + target
+                    + ". Próximos status permitidos: " + current.nextStatuses());
+        }
+    }
 
-        existing.recalculateTotal();
-        return orderRepository.save(existing);
+    private void recordStatusChange(Long id, OrderStatus previous, OrderStatus target,
+            Map<Long, Integer> quantities, LocalDateTime changedAt) {
+        outboxService.record(OrderStatusChangedEvent.TYPE, id,
+                new OrderStatusChangedEvent(id, previous, target, quantities, changedAt));
     }
 
     @Operation(summary = "Deletar um pedido")
     public void deleteOrder(Long id) {
         Order order = getOrderById(id);
-        orderRepository.delete(order);
+        List<StockMovement> stock = moveStock(quantitiesByProduct(order.getOrderItems()), order.getStatus(),
+                Map.of(), OrderStatus.CANCELED);
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                orderRepository.delete(order);
+                salesReportService.apply(OrderSales.of(order), null);
+            });
+        } catch (RuntimeException e) {
+            inventoryService.revert(stock);
+            throw e;
+        }
+    }
+
+    /**
+     * Persiste um lote em uma única transação. Se o lote falhar no flush, cada pedido é
+     * reprocessado individualmente para isolar o que causou o erro.
+     */
+    private List<OrderBatchResult> createChunk(List<Order> chunk, int offset) {
+        List<StockMovement> chunkStock = new ArrayList<>();
+        try {
+            return transactionTemplate.execute(tx -> persistChunk(chunk, offset, chunkStock));
+        } catch (RuntimeException e) {
+            inventoryService.revert(chunkStock);
+            List<OrderBatchResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                List<Order> single = List.of(chunk.get(i));
+                int index = offset + i;
+                List<StockMovement> orderStock = new ArrayList<>();
+                try {
+                    results.addAll(transactionTemplate.execute(tx -> persistChunk(single, index, orderStock)));
+                } catch (RuntimeException orderError) {
+                    inventoryService.revert(orderStock);
+                    results.add(OrderBatchResult.failed(index, rootMessage(orderError)));
+                }
+            }
+            return results;
+        }
+    }
+
+    private List<OrderBatchResult> persistChunk(List<Order> chunk, int offset, List<StockMovement> stock) {
+        List<OrderItem> allItems = chunk.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .toList();
+        Map<Long, Product> products = loadProducts(allItems);
+        Set<Long> userIds = userRepository.findAllById(chunk.stream()
+                        .map(Order::getUser)
+                        .filter(Objects::nonNull)
+                        .map(User::getId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+
+        List<OrderBatchResult> results = new ArrayList<>(chunk.size());
+        List<Order> accepted = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Order order = chunk.get(i);
+            try {
+                prepareForInsert(order, products, userIds);
+                stock.addAll(moveStock(Map.of(), null, quantitiesByProduct(order.getOrderItems()), order.getStatus()));
+                accepted.add(order);
+                results.add(null);
+            } catch (RuntimeException e) {
+                results.add(OrderBatchResult.failed(offset + i, e.getMessage()));
+            }
+        }
+
+        accepted.forEach(entityManager::persist);
+        entityManager.flush();
+        salesReportService.applyAll(accepted.stream()
+                .map(order -> new OrderChange(null, OrderSales.of(order)))
+                .toList());
+        entityManager.clear();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, OrderBatchResult.created(offset + i, chunk.get(i).getId()));
+            }
+        }
+        return results;
+    }
+
+    private void prepareForInsert(Order order, Map<Long, Product> products, Set<Long> userIds) {
+        // Também limpa IDs atribuídos por uma tentativa anterior que falhou no flush
+        order.setId(null);
+        if (order.getUser() == null || !userIds.contains(order.getUser().getId())) {
+            throw new IllegalArgumentException("Usuário do pedido não encontrado");
+        }
+        order.setUser(entityManager.getReference(User.class, order.getUser().getId()));
+        attachProducts(order.getOrderItems(), products);
+        for (OrderItem item : order.getOrderItems()) {
+            item.setId(null);
+            item.setOrder(order);
+        }
+        order.calculateTotals();
+
+        Set<ConstraintViolation<Order>> violations = validator.validate(order);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<Order> violation = violations.iterator().next();
+            throw new IllegalArgumentException(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+    }
+
+    /**
+     * Aplica no estoque a mudança de um pedido: dos itens e status anteriores para os novos.
+     * Enquanto o pedido está em andamento os itens ficam reservados; ao concluir, a reserva é
+     * baixada; ao cancelar, é devolvida. Pedidos novos usam itens anteriores vazios e status nulo.
+     *
+     * @return movimentos aplicados, para desfazer caso a gravação do pedido falhe
+     */
+    private List<StockMovement> moveStock(Map<Long, Integer> before, OrderStatus statusBefore,
+            Map<Long, Integer> after, OrderStatus statusAfter) {
+        boolean heldBefore = statusBefore != null && statusBefore.holdsStockReservation();
+        if (statusAfter == null || statusAfter == OrderStatus.CANCELED) {
+            return heldBefore ? inventoryService.release(before) : List.of();
+        }
+        if (statusBefore == OrderStatus.COMPLETED) {
+            // O estoque já foi baixado quando o pedido foi concluído
+            return List.of();
+        }
+
+        List<StockMovement> movements = new ArrayList<>(
+                inventoryService.adjustReservation(heldBefore ? before : Map.of(), after));
+        if (statusAfter == OrderStatus.COMPLETED) {
+            movements.addAll(inventoryService.commit(after));
+        }
+        return movements;
+    }
+
+    /**
+     * Conteúdo do pedido enviado pelo cliente (usuário, status e itens), comparado entre repetições da mesma chave.
+     */
+    private static String requestFingerprint(Order order) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append("user=").append(order.getUser() == null ? null : order.getUser().getId())
+                .append(";status=").append(order.getStatus())
+                .append(";items=");
+        for (OrderItem item : order.getOrderItems()) {
+            fingerprint.append(item.getProduct() == null ? null : item.getProduct().getId())
+                    .append('x').append(item.getQuantity()).append(',');
+        }
+        return fingerprint.toString();
+    }
+
+    private static Map<Long, Integer> quantitiesByProduct(List<OrderItem> items) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem item : items) {
+            if (item.getProduct() != null && item.getProduct().getId() != null && item.getQuantity() != null) {
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return quantities;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    /**
+     * Substitui as referências de produto recebidas no corpo da requisição (normalmente só o ID)
+     * pelos produtos do banco, carregados em uma única consulta.
+     */
+    private void resolveProducts(List<OrderItem> items) {
+        attachProducts(items, loadProducts(items));
+    }
+
+    private Map<Long, Product> loadProducts(Collection<OrderItem> items) {
+        List<Long> ids = items.stream()
+                .map(OrderItem::getProduct)
+                .filter(Objects::nonNull)
+                .map(Product::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private void attachProducts(List<OrderItem> items, Map<Long, Product> products) {
+        for (OrderItem item : items) {
+            if (item.getProduct() == null || item.getProduct().getId() == null) {
+                throw new ProductNotFoundException("Produto do item do pedido não informado");
+            }
+            Product product = products.get(item.getProduct().getId());
+            if (product == null) {
+                throw new ProductNotFoundException("Produto não encontrado com o ID: " + item.getProduct().getId());
+            }
+            item.setProduct(product);
+        }
     }
 }
@@ -0,0 +1,75 @@
+package com.danilo.sellora_commerce.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.danilo.sellora_commerce.dtos.OrderStatusChangedEvent;
+import com.danilo.sellora_commerce.model.OutboxEvent;
+import com.danilo.sellora_commerce.model.StockMovementRecord;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.repositories.StockMovementRecordRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Efeito da mudança de status no estoque: ao concluir o pedido a reserva é baixada e
+ * ao cancelar é devolvida. As quantidades vêm do evento, como estavam no momento da mudança.
+ *
+ * O movimento é registrado (stock_movements) na transação do dispatcher e os contadores em memória só
+ * mudam depois do commit. Se a transação falhar, nada foi aplicado e o evento é entregue de novo;
+ * se o evento for entregue outra vez depois de aplicado, o registro existente faz o handler ignorá-lo.
+ */
+@Component
+public class OrderStockHandler implements OutboxEventHandler {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private StockMovementRecordRepository stockMovementRecordRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public String eventType() {
+        return OrderStatusChangedEvent.TYPE;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void handle(OutboxEvent event) throws Exception {
+        OrderStatusChangedEvent change = outboxService.read(event, OrderStatusChangedEvent.class);
+        if (!change.previousStatus().holdsStockReservation() || change.status().holdsStockReservation()) {
+            return;
+        }
+        if (stockMovementRecordRepository.existsById(event.getId())) {
+            return;
+        }
+        entityManager.persist(new StockMovementRecord(event.getId(), change.orderId(), change.status(), LocalDateTime.now()));
+
+        boolean commit = change.status() == OrderStatus.COMPLETED;
+        Map<Long, Integer> quantities = change.quantities();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (commit) {
+                    inventoryService.commit(quantities);
+                } else {
+                    inventoryService.release(quantities);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package com.danilo.sellora_commerce.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.danilo.sellora_commerce.model.OutboxEvent;
+import com.danilo.sellora_commerce.repositories.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Processa os eventos do outbox em segundo plano. Cada evento é lido, entregue ao handler e
+ * marcado como processado na sua própria transação, então a falha de um handler não desfaz os
+ * outros eventos do lote. Eventos com erro ficam pendentes, com a tentativa registrada em outra
+ * transação, e são tentados de novo nas próximas execuções até o limite de tentativas.
+ * O evento fica travado (skip locked) até o commit, então várias instâncias podem rodar o
+ * dispatcher sem processar o mesmo evento ao mesmo tempo.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // transação própria para cada evento, mesmo que o dispatcher seja chamado dentro de outra
+    private TransactionTemplate eventTransaction;
+
+    @Autowired
+    private List<OutboxEventHandler> handlers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sellora.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${sellora.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${sellora.outbox.retention:7d}")
+    private Duration retention;
+
+    // Uma execução por vez nesta instância; entre instâncias, a trava das linhas separa os lotes
+    private final ReentrantLock dispatching = new ReentrantLock();
+
+    private Map<String, OutboxEventHandler> handlersByType;
+    private Counter dispatched;
+    private Counter failed;
+
+    @PostConstruct
+    public void init() {
+        eventTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        eventTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        handlersByType = handlers.stream().collect(Collectors.toMap(OutboxEventHandler::eventType, Function.identity()));
+        dispatched = meterRegistry.counter("sellora.outbox.dispatched");
+        failed = meterRegistry.counter("sellora.outbox.failed");
+        Gauge.builder("sellora.outbox.pending", outboxEventRepository, OutboxEventRepository::countByProcessedAtIsNull)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Processa lotes até esvaziar a fila (ou até um lote ter falhas, para não repetir em loop).
+     */
+    @Scheduled(initialDelayString = "${sellora.outbox.poll-interval-ms:500}",
+            fixedDelayString = "${sellora.outbox.poll-interval-ms:500}")
+    public void dispatchPending() {
+        dispatching.lock();
+        try {
+            int succeeded;
+            do {
+                succeeded = dispatchBatch();
+            } while (succeeded == batchSize);
+        } finally {
+            dispatching.unlock();
+        }
+    }
+
+    /**
+     * Processa até batch-size eventos, em ordem de id. Um evento que falhou não é tentado de novo no mesmo lote.
+     *
+     * @return quantidade de eventos processados com sucesso no lote
+     */
+    private int dispatchBatch() {
+        int succeeded = 0;
+        long after = 0;
+        for (int i = 0; i < batchSize; i++) {
+            OutboxEvent event = dispatchNext(after);
+            if (event == null) {
+                break;
+            }
+            if (event.getProcessedAt() != null) {
+                succeeded++;
+            }
+            after = event.getId();
+        }
+        return succeeded;
+    }
+
+    /**
+     * Trava e processa o próximo evento pendente depois de {@code after}. Se o handler falhar, a transação do
+     * evento é desfeita (inclusive o que o handler gravou) e a falha é registrada em uma nova transação.
+     *
+     * @return o evento processado, ou null se não há mais eventos pendentes
+     */
+    private OutboxEvent dispatchNext(long after) {
+        Exception[] failure = new Exception[1];
+        OutboxEvent event = eventTransaction.execute(tx -> {
+            List<OutboxEvent> next = outboxEventRepository.findPending(maxAttempts, after, PageRequest.of(0, 1));
+            if (next.isEmpty()) {
+                return null;
+            }
+            OutboxEvent claimed = next.get(0);
+            OutboxEventHandler handler = handlersByType.get(claimed.getEventType());
+            try {
+                if (handler != null) {
+                    handler.handle(claimed);
+                }
+                claimed.setProcessedAt(LocalDateTime.now());
+            } catch (Exception e) {
+                tx.setRollbackOnly();
+                failure[0] = e;
+            }
+            return claimed;
+        });
+        if (event == null) {
+            return null;
+        }
+        if (failure[0] == null) {
+            dispatched.increment();
+        } else {
+            recordFailure(event, failure[0]);
+        }
+        return event;
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e) {
+        String error = truncate(e.toString());
+        eventTransaction.executeWithoutResult(tx -> outboxEventRepository.recordFailure(event.getId(), error));
+        int attempts = event.getAttempts() + 1;
+        failed.increment();
+        if (attempts >= maxAttempts) {
+            logger.error("Evento {} ({}) descartado após {} tentativas", event.getId(), event.getEventType(), maxAttempts, e);
+        } else {
+            logger.warn("Falha ao processar o evento {} ({}), tentativa {}", event.getId(), event.getEventType(), attempts, e);
+        }
+    }
+
+    /**
+     * Remove eventos já processados há mais tempo que a retenção configurada.
+     */
+    @Scheduled(fixedDelayString = "${sellora.outbox.purge-interval-ms:3600000}")
+    public void purgeProcessed() {
+        Integer removed = transactionTemplate.execute(tx ->
+                outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention)));
+        if (removed != null && removed > 0) {
+            logger.info("{} eventos processados removidos do outbox", removed);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -0,0 +1,16 @@
+package com.danilo.sellora_commerce.service;
+
+import com.danilo.sellora_commerce.model.OutboxEvent;
+
+/**
+ * Efeito colateral executado pelo {@link OutboxDispatcher} para um tipo de evento, dentro da transação
+ * que marca o evento como processado. A entrega é "pelo menos uma vez": o handler pode ser chamado de
+ * novo para o mesmo evento se essa transação não for confirmada, então efeitos fora do banco devem
+ * esperar o commit e o handler deve reconhecer eventos já aplicados (veja {@link OrderStockHandler}).
+ */
+public interface OutboxEventHandler {
+
+    String eventType();
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,38 @@
+package com.danilo.sellora_commerce.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.danilo.sellora_commerce.model.OutboxEvent;
+import com.danilo.sellora_commerce.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Grava eventos no outbox. Deve ser chamado dentro da transação da mudança que gerou o evento,
+ * para que os dois sejam confirmados (ou desfeitos) juntos.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent record(String eventType, Long aggregateId, Object payload) {
+        try {
+            return outboxEventRepository.save(new OutboxEvent(eventType, aggregateId, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento " + eventType, e);
+        }
+    }
+
+    public <T> T read(OutboxEvent event, Class<T> type) throws JsonProcessingException {
+        return objectMapper.readValue(event.getPayload(), type);
+    }
+}
@@ -0,0 +1,393 @@
+package com.danilo.sellora_commerce.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.danilo.sellora_commerce.config.CacheConfig;
+import com.danilo.sellora_commerce.dtos.ProductImportError;
+import com.danilo.sellora_commerce.dtos.ProductImportResponse;
+import com.danilo.sellora_commerce.dtos.ProductImportRow;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importação de catálogo em lote a partir de CSV ou NDJSON.
+ *
+ * O arquivo é lido em streaming e gravado em blocos: cada bloco é uma transação com um batch JDBC
+ * de inserts e outro de updates. Só o bloco atual fica em memória, então o consumo não depende do
+ * tamanho do arquivo. Os IDs são IDENTITY, o que impede o Hibernate de agrupar inserts; por isso a
+ * gravação usa JDBC direto. Linhas inválidas são reportadas e as demais continuam.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    /** Mesma precisão da coluna: {@code @Column(precision = 10, scale = 2)} em {@link Product#getPrice()}. */
+    private static final int PRICE_PRECISION = 10;
+    private static final int PRICE_SCALE = 2;
+
+    private static final String INSERT_SQL = """
+            insert into products (name, price, description, image_url, version, updated_at)
+            values (?, ?, ?, ?, 0, ?)""";
+    private static final String UPDATE_SQL = """
+            update products set name = ?, price = ?, description = ?, image_url = ?, version = version + 1, updated_at = ?
+            where id = ?""";
+
+    private final ObjectReader csvReader = new CsvMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(ProductImportRow.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${sellora.products.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${sellora.products.import.max-errors:1000}")
+    private int maxErrors;
+
+    /**
+     * Lê a próxima linha do arquivo; retorna {@code null} no fim.
+     */
+    private interface RowReader {
+        ProductImportRow next() throws IOException;
+    }
+
+    /**
+     * Linha que não pôde ser lida, mas não impede a leitura das seguintes.
+     */
+    private static final class InvalidRowException extends RuntimeException {
+        private InvalidRowException(String message) {
+            super(message);
+        }
+    }
+
+    private record PendingRow(long row, Product product) {
+    }
+
+    @Operation(summary = "Importar produtos de um CSV",
+            description = "CSV com cabeçalho; colunas reconhecidas: id, name, price, description, imageUrl")
+    public ProductImportResponse importCsv(InputStream input) throws IOException {
+        try (MappingIterator<ProductImportRow> rows = csvReader.readValues(reader(input))) {
+            return importRows(() -> rows.hasNextValue() ? rows.nextValue() : null);
+        }
+    }
+
+    @Operation(summary = "Importar produtos de um NDJSON", description = "Um objeto JSON por linha, com os campos do produto")
+    public ProductImportResponse importNdjson(InputStream input) throws IOException {
+        try (BufferedReader lines = reader(input)) {
+            return importRows(() -> {
+                String line;
+                do {
+                    line = lines.readLine();
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                try {
+                    return objectMapper.readValue(line, ProductImportRow.class);
+                } catch (JsonProcessingException e) {
+                    throw new InvalidRowException("JSON inválido: " + e.getOriginalMessage());
+                }
+            });
+        }
+    }
+
+    private ProductImportResponse importRows(RowReader reader) {
+        long start = System.nanoTime();
+        Progress progress = new Progress(maxErrors);
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        long row = 0;
+        while (true) {
+            ProductImportRow data;
+            try {
+                data = reader.next();
+            } catch (InvalidRowException e) {
+                progress.fail(++row, e.getMessage());
+                continue;
+            } catch (IOException | RuntimeException e) {
+                // Erro de estrutura (ex.: aspas não fechadas no CSV): não há como achar a próxima linha
+                progress.fail(++row, "Arquivo inválido a partir desta linha: " + e.getMessage());
+                break;
+            }
+            if (data == null) {
+                break;
+            }
+            row++;
+            try {
+                chunk.add(new PendingRow(row, toProduct(data)));
+            } catch (IllegalArgumentException e) {
+                progress.fail(row, e.getMessage());
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                write(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, progress);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long written = progress.inserted + progress.updated;
+        logger.info("Importação de produtos: {} linhas, {} inseridos, {} atualizados, {} com erro em {} ms",
+                row, progress.inserted, progress.updated, progress.failed, elapsedNanos / 1_000_000);
+        return new ProductImportResponse(
+                row,
+                progress.inserted,
+                progress.updated,
+                progress.failed,
+                elapsedNanos / 1_000_000,
+                seconds > 0 ? written / seconds : written,
+                progress.errors,
+                progress.failed - progress.errors.size());
+    }
+
+    /**
+     * Converte e valida a linha com as mesmas regras da entidade.
+     */
+    private Product toProduct(ProductImportRow row) {
+        Product product = new Product();
+        product.setId(parseId(row.id()));
+        product.setName(blankToNull(row.name()));
+        product.setPrice(parsePrice(row.price()));
+        product.setDescription(blankToNull(row.description()));
+        product.setImageUrl(blankToNull(row.imageUrl()));
+
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return product;
+    }
+
+    private static Long parseId(String value) {
+        String id = blankToNull(value);
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("id: valor inválido '" + id + "'");
+        }
+    }
+
+    private static Money parsePrice(String value) {
+        String text = blankToNull(value);
+        if (text == null) {
+            return null;
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price: valor inválido '" + text + "'");
+        }
+        if (price.scale() > PRICE_SCALE || price.precision() - price.scale() > PRICE_PRECISION - PRICE_SCALE) {
+            throw new IllegalArgumentException("price: deve ter no máximo " + (PRICE_PRECISION - PRICE_SCALE)
+                    + " dígitos inteiros e " + PRICE_SCALE + " decimais");
+        }
+        return Money.of(price);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Grava um bloco em uma transação. Se o banco rejeitar alguma linha, o bloco inteiro volta
+     * e é regravado linha a linha para isolar o erro, como na criação de pedidos em lote.
+     */
+    private void write(List<PendingRow> chunk, Progress progress) {
+        try {
+            List<Long> ids = transactionTemplate.execute(tx -> writeChunk(chunk));
+            afterCommit(chunk, ids, progress);
+        } catch (RuntimeException chunkError) {
+            for (PendingRow row : chunk) {
+                List<PendingRow> single = List.of(row);
+                try {
+                    afterCommit(single, transactionTemplate.execute(tx -> writeChunk(single)), progress);
+                } catch (RuntimeException rowError) {
+                    progress.fail(row.row(), rootMessage(rowError));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return ID gravado de cada linha, ou {@code null} para atualizações de um ID que não existe
+     */
+    private List<Long> writeChunk(List<PendingRow> chunk) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            Long[] ids = new Long[chunk.size()];
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Integer> inserts = new ArrayList<>();
+            List<Integer> updates = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                (chunk.get(i).product().getId() == null ? inserts : updates).add(i);
+            }
+
+            if (!inserts.isEmpty()) {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL, new String[] { "id" })) {
+                    for (int i : inserts) {
+                        bind(insert, chunk.get(i).product(), now);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        for (int i : inserts) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("O banco não retornou os IDs gerados na importação");
+                            }
+                            ids[i] = keys.getLong(1);
+                        }
+                    }
+                }
+            }
+
+            if (!updates.isEmpty()) {
+                try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+                    for (int i : updates) {
+                        Product product = chunk.get(i).product();
+                        bind(update, product, now);
+                        update.setLong(6, product.getId());
+                        update.addBatch();
+                    }
+                    int[] counts = update.executeBatch();
+                    for (int k = 0; k < counts.length; k++) {
+                        int i = updates.get(k);
+                        ids[i] = counts[k] == 0 ? null : chunk.get(i).product().getId();
+                    }
+                }
+            }
+            return Arrays.asList(ids);
+        });
+    }
+
+    private static void bind(PreparedStatement statement, Product product, Timestamp now) throws SQLException {
+        statement.setString(1, product.getName());
+        statement.setBigDecimal(2, product.getPrice().toBigDecimal());
+        statement.setString(3, product.getDescription());
+        statement.setString(4, product.getImageUrl());
+        statement.setTimestamp(5, now);
+    }
+
+    /**
+     * Contabiliza o bloco gravado e atualiza o que fica fora do banco: índice de busca e cache de leitura.
+     */
+    private void afterCommit(List<PendingRow> chunk, List<Long> ids, Progress progress) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        for (int i = 0; i < chunk.size(); i++) {
+            PendingRow row = chunk.get(i);
+            Product product = row.product();
+            Long id = ids.get(i);
+            if (id == null) {
+                progress.fail(row.row(), "Produto não encontrado com o ID: " + product.getId());
+                continue;
+            }
+            if (product.getId() == null) {
+                progress.inserted++;
+            } else {
+                progress.updated++;
+                cache.evict(id);
+            }
+            productSearchService.index(id, product.getName(), product.getDescription());
+        }
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static BufferedReader reader(InputStream input) {
+        Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        return new BufferedReader(reader, 64 * 1024);
+    }
+
+    /**
+     * Contadores da importação; guarda no máximo {@code maxErrors} erros detalhados.
+     */
+    private static final class Progress {
+
+        private final int maxErrors;
+        private final List<ProductImportError> errors = new ArrayList<>();
+        private long inserted;
+        private long updated;
+        private long failed;
+
+        private Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long row, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportError(row, error));
+            }
+        }
+    }
+}
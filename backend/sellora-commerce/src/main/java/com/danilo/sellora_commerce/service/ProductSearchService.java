@@ -0,0 +1,446 @@
+package com.danilo.sellora_commerce.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+/**
+ * Busca textual de produtos com índice invertido em memória sobre nome e descrição.
+ *
+ * O índice é montado na inicialização e atualizado a cada criação, alteração ou exclusão
+ * feita pelo {@link ProductService}. O ranking usa BM25, com peso maior para termos do nome,
+ * e o último termo da consulta também casa por prefixo (busca enquanto digita).
+ *
+ * Cada produto recebe um número sequencial (ordinal) e as listas de ocorrências guardam
+ * apenas ordinais e pesos em arrays primitivos, o que mantém o índice compacto e permite
+ * pontuar milhões de produtos sem criar objetos por ocorrência. As escritas são serializadas;
+ * as leituras não usam lock e enxergam sempre um estado publicado por inteiro de cada lista.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final float PREFIX_BOOST = 0.5f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int MAX_RESULTS = 100;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "o", "as", "os", "de", "da", "do", "das", "dos", "e", "em", "com", "para", "por", "um", "uma", "the", "and");
+
+    /** Termos ordenados (para autocompletar por prefixo) e suas listas de ocorrências. */
+    private final ConcurrentSkipListMap<String, PostingList> terms = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+
+    private volatile Documents documents = new Documents(1024);
+    private int nextOrdinal;
+    private long totalLength;
+    private volatile int documentCount;
+    private volatile double averageLength = 1;
+
+    // ProductService depende deste serviço; o provider resolve o ciclo sem o proxy de @Lazy, que quebra com AOT
+    @Autowired
+    private ObjectProvider<ProductService> productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Monta o índice percorrendo o catálogo com cursor, sem carregá-lo inteiro em memória.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        productService.getObject().forEachProduct(this::index);
+        logger.info("Índice de busca montado com {} produtos e {} termos em {} ms",
+                documentCount, terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Inclui ou reindexa um produto.
+     */
+    public void index(Product product) {
+        index(product.getId(), product.getName(), product.getDescription());
+    }
+
+    public synchronized void index(Long productId, String name, String description) {
+        remove(productId);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(name).forEach(term -> frequencies.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> frequencies.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        if (frequencies.isEmpty()) {
+            return;
+        }
+
+        int ordinal = ordinals.computeIfAbsent(productId, id -> nextOrdinal++);
+        Documents docs = documents.ensureCapacity(ordinal + 1);
+        if (docs != documents) {
+            // Publica os arrays maiores antes de qualquer lista de ocorrências citar o novo ordinal
+            documents = docs;
+        }
+
+        int length = 0;
+        for (int weight : frequencies.values()) {
+            length += weight;
+        }
+        docs.productIds[ordinal] = productId;
+        docs.lengths[ordinal] = length;
+
+        PostingList[] postingLists = new PostingList[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            PostingList postings = terms.computeIfAbsent(entry.getKey(), PostingList::new);
+            postings.add(ordinal, entry.getValue());
+            postingLists[i++] = postings;
+        }
+        docs.postings[ordinal] = postingLists;
+
+        totalLength += length;
+        documentCount++;
+        averageLength = (double) totalLength / documentCount;
+    }
+
+    /**
+     * Remove um produto do índice.
+     */
+    public synchronized void remove(Long productId) {
+        Integer ordinal = ordinals.get(productId);
+        Documents docs = documents;
+        if (ordinal == null || docs.postings[ordinal] == null) {
+            return;
+        }
+        for (PostingList postings : docs.postings[ordinal]) {
+            postings.remove(ordinal);
+            if (postings.isEmpty()) {
+                terms.remove(postings.term, postings);
+            }
+        }
+        totalLength -= docs.lengths[ordinal];
+        documentCount--;
+        averageLength = documentCount == 0 ? 1 : (double) totalLength / documentCount;
+        docs.lengths[ordinal] = 0;
+        docs.postings[ordinal] = null;
+    }
+
+    @Operation(summary = "Buscar produtos por texto", description = "Retorna os produtos mais relevantes para a consulta")
+    public List<Product> search(String query, int limit) {
+        List<Long> ranked = searchIds(query, limit);
+        Map<Long, Product> products = productRepository.findAllById(ranked).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ranked.stream()
+                .map(products::get)
+                .filter(product -> product != null)
+                .toList();
+    }
+
+    /**
+     * Retorna os IDs dos produtos mais relevantes, do mais para o menos relevante.
+     */
+    public List<Long> searchIds(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, MAX_RESULTS));
+
+        String last = queryTerms.remove(queryTerms.size() - 1);
+        List<PostingList> exact = new ArrayList<>();
+        for (String term : queryTerms) {
+            PostingList postings = terms.get(term);
+            if (postings != null) {
+                exact.add(postings);
+            }
+        }
+        // O último termo pode estar incompleto: casa exato e também por prefixo, com peso menor
+        List<PostingList> prefixed = new ArrayList<>();
+        for (PostingList postings : expand(last, MAX_PREFIX_EXPANSIONS)) {
+            (postings.term.equals(last) ? exact : prefixed).add(postings);
+        }
+
+        long postingCount = 0;
+        for (PostingList postings : exact) {
+            postingCount += postings.size();
+        }
+        for (PostingList postings : prefixed) {
+            postingCount += postings.size();
+        }
+        Scores scores = new Scores(documents.lengths.length, postingCount);
+        exact.forEach(postings -> accumulate(postings, 1f, scores));
+        prefixed.forEach(postings -> accumulate(postings, PREFIX_BOOST, scores));
+        return topK(scores, size);
+    }
+
+    @Operation(summary = "Autocompletar", description = "Sugere termos do catálogo que começam com o prefixo, os mais frequentes primeiro")
+    public List<String> suggest(String prefix, int limit) {
+        List<String> normalized = tokenize(prefix, false);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<PostingList> candidates = expand(normalized.get(normalized.size() - 1), MAX_PREFIX_EXPANSIONS * 4);
+        candidates.sort(Comparator.comparingInt(PostingList::size).reversed());
+        return candidates.stream()
+                .limit(Math.max(1, limit))
+                .map(postings -> postings.term)
+                .toList();
+    }
+
+    public int size() {
+        return documentCount;
+    }
+
+    private void accumulate(PostingList postings, float boost, Scores scores) {
+        if (postings == null) {
+            return;
+        }
+        PostingList.Snapshot snapshot = postings.snapshot;
+        if (snapshot.size == 0) {
+            return;
+        }
+        // Lido depois da lista: contém todos os ordinais que a lista pode citar
+        int[] lengths = documents.lengths;
+        int count = Math.max(documentCount, 1);
+        double avg = averageLength;
+        float idf = (float) Math.log(1 + (count - snapshot.size + 0.5) / (snapshot.size + 0.5));
+
+        for (int i = 0; i < snapshot.size; i++) {
+            int ordinal = snapshot.ordinals[i];
+            int weight = snapshot.weights[i];
+            if (ordinal >= scores.capacity) {
+                continue;
+            }
+            double norm = K1 * (1 - B + B * lengths[ordinal] / avg);
+            scores.add(ordinal, boost * idf * (float) (weight * (K1 + 1) / (weight + norm)));
+        }
+    }
+
+    private List<PostingList> expand(String prefix, int max) {
+        List<PostingList> expansions = new ArrayList<>();
+        for (PostingList postings : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            expansions.add(postings);
+            if (expansions.size() >= max) {
+                break;
+            }
+        }
+        return expansions;
+    }
+
+    private List<Long> topK(Scores scores, int k) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(entry -> Float.intBitsToFloat((int) entry[1])));
+        scores.forEach((ordinal, score) -> {
+            if (heap.size() < k) {
+                heap.add(new long[] { ordinal, Float.floatToIntBits(score) });
+            } else if (score > Float.intBitsToFloat((int) heap.peek()[1])) {
+                heap.poll();
+                heap.add(new long[] { ordinal, Float.floatToIntBits(score) });
+            }
+        });
+        long[] productIds = documents.productIds;
+        List<long[]> ordered = new ArrayList<>(heap);
+        ordered.sort(Comparator.<long[]>comparingDouble(entry -> Float.intBitsToFloat((int) entry[1])).reversed()
+                .thenComparingLong(entry -> productIds[(int) entry[0]]));
+        return ordered.stream().map(entry -> productIds[(int) entry[0]]).toList();
+    }
+
+    static List<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    private static List<String> tokenize(String text, boolean dropStopWords) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(normalized)) {
+            if (!token.isEmpty() && !(dropStopWords && STOP_WORDS.contains(token))) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Dados por ordinal. Os arrays só crescem; um array novo é publicado antes de ser referenciado.
+     */
+    private static final class Documents {
+
+        private final long[] productIds;
+        private final int[] lengths;
+        private final PostingList[][] postings;
+
+        private Documents(int capacity) {
+            this(new long[capacity], new int[capacity], new PostingList[capacity][]);
+        }
+
+        private Documents(long[] productIds, int[] lengths, PostingList[][] postings) {
+            this.productIds = productIds;
+            this.lengths = lengths;
+            this.postings = postings;
+        }
+
+        private Documents ensureCapacity(int capacity) {
+            if (capacity <= lengths.length) {
+                return this;
+            }
+            int newCapacity = Math.max(capacity, lengths.length * 2);
+            return new Documents(
+                    Arrays.copyOf(productIds, newCapacity),
+                    Arrays.copyOf(lengths, newCapacity),
+                    Arrays.copyOf(postings, newCapacity));
+        }
+    }
+
+    /**
+     * Ocorrências de um termo: ordinais dos produtos e peso do termo em cada um.
+     * Inclusões acrescentam ao fim do array atual e publicam um novo snapshot; remoções
+     * copiam o array, então um snapshot já publicado nunca muda.
+     */
+    private static final class PostingList {
+
+        private final String term;
+        private volatile Snapshot snapshot = new Snapshot(new int[4], new int[4], 0);
+
+        private record Snapshot(int[] ordinals, int[] weights, int size) {
+        }
+
+        private PostingList(String term) {
+            this.term = term;
+        }
+
+        private void add(int ordinal, int weight) {
+            Snapshot current = snapshot;
+            int[] ordinals = current.ordinals;
+            int[] weights = current.weights;
+            if (current.size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, ordinals.length * 2);
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+            ordinals[current.size] = ordinal;
+            weights[current.size] = weight;
+            snapshot = new Snapshot(ordinals, weights, current.size + 1);
+        }
+
+        private void remove(int ordinal) {
+            Snapshot current = snapshot;
+            int[] ordinals = new int[Math.max(4, current.ordinals.length)];
+            int[] weights = new int[ordinals.length];
+            int size = 0;
+            for (int i = 0; i < current.size; i++) {
+                if (current.ordinals[i] != ordinal) {
+                    ordinals[size] = current.ordinals[i];
+                    weights[size] = current.weights[i];
+                    size++;
+                }
+            }
+            snapshot = new Snapshot(ordinals, weights, size);
+        }
+
+        private int size() {
+            return snapshot.size;
+        }
+
+        private boolean isEmpty() {
+            return snapshot.size == 0;
+        }
+    }
+
+    /**
+     * Pontuação acumulada de uma consulta. Consultas que tocam boa parte do catálogo usam um
+     * array indexado por ordinal; as demais usam uma tabela hash de endereçamento aberto,
+     * proporcional ao número de ocorrências, evitando alocar e zerar um array do tamanho do índice.
+     */
+    private static final class Scores {
+
+        private static final int EMPTY = -1;
+
+        private final int capacity;
+        private final float[] dense;
+        private final int[] keys;
+        private final float[] values;
+        private final int mask;
+
+        private interface ScoreConsumer {
+            void accept(int ordinal, float score);
+        }
+
+        private Scores(int capacity, long expectedPostings) {
+            this.capacity = capacity;
+            if (expectedPostings * 4 >= capacity) {
+                dense = new float[capacity];
+                keys = null;
+                values = null;
+                mask = 0;
+            } else {
+                int tableSize = Integer.highestOneBit((int) Math.max(16, expectedPostings * 2)) << 1;
+                dense = null;
+                keys = new int[tableSize];
+                Arrays.fill(keys, EMPTY);
+                values = new float[tableSize];
+                mask = tableSize - 1;
+            }
+        }
+
+        private void add(int ordinal, float score) {
+            if (dense != null) {
+                dense[ordinal] += score;
+                return;
+            }
+            int slot = (ordinal * 0x9E3779B9) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != ordinal) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = ordinal;
+            values[slot] += score;
+        }
+
+        private void forEach(ScoreConsumer consumer) {
+            if (dense != null) {
+                for (int ordinal = 0; ordinal < dense.length; ordinal++) {
+                    if (dense[ordinal] > 0f) {
+                        consumer.accept(ordinal, dense[ordinal]);
+                    }
+                }
+                return;
+            }
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    consumer.accept(keys[slot], values[slot]);
+                }
+            }
+        }
+    }
+}
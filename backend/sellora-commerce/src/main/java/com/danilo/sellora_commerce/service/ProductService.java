@@ -1,42 +1,143 @@
 package com.danilo.sellora_commerce.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.danilo.sellora_commerce.config.CacheConfig;
+import com.danilo.sellora_commerce.config.ReplicaRoutingDataSource;
+import com.danilo.sellora_commerce.dtos.CacheStatsDTO;
+import com.danilo.sellora_commerce.dtos.CursorPage;
+import com.danilo.sellora_commerce.dtos.VersionStamp;
 import com.danilo.sellora_commerce.exceptions.ProductNotFoundException;
 import com.danilo.sellora_commerce.model.Product;
 import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class ProductService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
     @Operation(summary = "Criar um novo produto", description = "Salva um novo produto no banco de dados")
     public Product createProduct(
             @Parameter(description = "Objeto do produto a ser criado", required = true) Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSearchService.index(saved);
+        return saved;
     }
 
     @Operation(summary = "Listar todos os produtos", description = "Retorna uma lista com todos os produtos cadastrados")
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    @Operation(summary = "Listar produtos por cursor", description = "Retorna uma página de produtos com ID maior que o cursor informado")
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getProductsPage(
+            @Parameter(description = "ID do último produto da página anterior") Long after,
+            @Parameter(description = "Quantidade máxima de produtos na página") int size) {
+        int pageSize = pageSize(size);
+        // Busca um item a mais para saber se existe próxima página sem precisar de count
+        List<Product> rows = productRepository.findByIdGreaterThanOrderByIdAsc(cursor(after), PageRequest.of(0, pageSize + 1));
+        return toPage(rows, pageSize, Product::getId);
+    }
+
+    /**
+     * Versões da mesma página de {@link #getProductsPage}, sem carregar os produtos.
+     * Permite responder requisições condicionais com 304 sem tocar no restante das colunas.
+     */
+    @Operation(summary = "Versão de uma página de produtos", description = "Retorna ID, versão e data de alteração dos produtos da página")
+    @Transactional(readOnly = true)
+    public CursorPage<VersionStamp> getProductsPageVersions(
+            @Parameter(description = "ID do último produto da página anterior") Long after,
+            @Parameter(description = "Quantidade máxima de produtos na página") int size) {
+        int pageSize = pageSize(size);
+        List<VersionStamp> rows = productRepository.findVersionsAfter(cursor(after), PageRequest.of(0, pageSize + 1));
+        return toPage(rows, pageSize, VersionStamp::maxId);
+    }
+
+    public static VersionStamp versionOf(Product product) {
+        return new VersionStamp(product.getId(), product.getVersion(), product.getUpdatedAt());
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static long cursor(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    private static <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, Long> id) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new CursorPage<>(content, id.apply(content.get(pageSize - 1)));
+    }
+
+    /**
+     * Percorre todo o catálogo em ordem de ID, entregando cada produto ao consumidor.
+     * Cada produto é desanexado após o uso, mantendo o contexto de persistência vazio.
+     */
+    @Transactional(readOnly = true)
+    public void forEachProduct(Consumer<Product> action) {
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            products.forEach(product -> {
+                action.accept(product);
+                entityManager.detach(product);
+            });
+        }
+    }
+
+    /**
+     * Leitura com cache. O carregamento é atômico por chave, então uma remoção feita durante
+     * o carregamento espera por ele e o valor antigo nunca permanece no cache.
+     * Lê do primário: o valor fica em cache e não pode vir de uma réplica atrasada.
+     */
     @Operation(summary = "Buscar produto por ID", description = "Retorna um produto específico pelo seu ID")
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", sync = true)
     public Product getProductById(
             @Parameter(description = "ID do produto a ser encontrado", required = true) Long id) {
-        return productRepository.findById(id)
+        return ReplicaRoutingDataSource.onPrimary(() -> productRepository.findById(id))
                 .orElseThrow(() -> new ProductNotFoundException("Produto não encontrado com o ID: " + id));
     }
 
     @Operation(summary = "Atualizar um produto", description = "Atualiza os dados de um produto existente")
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public Product updateProduct(
             @Parameter(description = "ID do produto a ser atualizado", required = true) Long id,
             @Parameter(description = "Novos dados do produto", required = true) Product productDetails) {
@@ -45,13 +146,31 @@ public class ProductService {
         existingProduct.setPrice(productDetails.getPrice());
         existingProduct.setDescription(productDetails.getDescription());
         existingProduct.setImageUrl(productDetails.getImageUrl());
-        return productRepository.save(existingProduct);
+        Product saved = productRepository.save(existingProduct);
+        productSearchService.index(saved);
+        return saved;
     }
 
     @Operation(summary = "Excluir um produto", description = "Remove um produto existente do banco de dados pelo seu ID")
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public void deleteProduct(
             @Parameter(description = "ID do produto a ser deletado", required = true) Long id) {
         Product product = getProductById(id);
         productRepository.delete(product);
+        productSearchService.remove(id);
+        inventoryService.remove(id);
+    }
+
+    @Operation(summary = "Estatísticas do cache de produtos", description = "Retorna os contadores de hit, miss e eviction do cache de produtos")
+    public CacheStatsDTO getCacheStats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        CacheStats stats = cache.getNativeCache().stats();
+        return new CacheStatsDTO(
+                cache.getName(),
+                cache.getNativeCache().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.hitRate());
     }
 }
@@ -0,0 +1,291 @@
+package com.danilo.sellora_commerce.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.danilo.sellora_commerce.dtos.DailySalesDTO;
+import com.danilo.sellora_commerce.dtos.ProductSalesDTO;
+import com.danilo.sellora_commerce.model.DailyStatusSales;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.repositories.DailyProductSalesRepository;
+import com.danilo.sellora_commerce.repositories.DailyStatusSalesRepository;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+
+/**
+ * Relatórios de vendas a partir de tabelas agregadas por dia, em vez de somar pedidos e itens
+ * a cada consulta: o custo de um relatório depende do número de dias, não do número de pedidos.
+ *
+ * As tabelas são mantidas por diferença: cada gravação de pedido informa como ele era antes e
+ * como ficou, e só a diferença é somada às linhas afetadas, na mesma transação do pedido.
+ * {@link #rebuild()} recalcula tudo a partir dos pedidos, para corrigir qualquer desvio.
+ */
+@Service
+public class SalesReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesReportService.class);
+
+    public static final int DEFAULT_PERIOD_DAYS = 30;
+    public static final int MAX_PERIOD_DAYS = 366;
+
+    private static final String UPDATE_PRODUCT_SQL =
+            "update sales_daily_product set revenue = revenue + ?, units = units + ? where sales_date = ? and product_id = ?";
+    private static final String INSERT_PRODUCT_SQL =
+            "insert into sales_daily_product (revenue, units, sales_date, product_id) values (?, ?, ?, ?)";
+    private static final String UPDATE_STATUS_SQL =
+            "update sales_daily_status set revenue = revenue + ?, order_count = order_count + ? where sales_date = ? and status = ?";
+    private static final String INSERT_STATUS_SQL =
+            "insert into sales_daily_status (revenue, order_count, sales_date, status) values (?, ?, ?, ?)";
+
+    private static final String REBUILD_PRODUCT_SQL = """
+            insert into sales_daily_product (sales_date, product_id, revenue, units)
+            select cast(o.order_date as date), i.product_id, coalesce(sum(i.subtotal), 0), coalesce(sum(i.quantity), 0)
+            from orders o join order_items i on i.order_id = o.id
+            where o.order_date is not null and o.status <> 'CANCELED'
+            group by cast(o.order_date as date), i.product_id""";
+    private static final String REBUILD_STATUS_SQL = """
+            insert into sales_daily_status (sales_date, status, order_count, revenue)
+            select cast(o.order_date as date), o.status, count(*), coalesce(sum(o.total_amount), 0)
+            from orders o
+            where o.order_date is not null
+            group by cast(o.order_date as date), o.status""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private DailyStatusSalesRepository dailyStatusSalesRepository;
+
+    /**
+     * Contribuição de um pedido para as tabelas agregadas: dia, status, total e, por produto,
+     * unidades e receita. Pedidos cancelados não contam como venda de produto.
+     */
+    public record OrderSales(LocalDate date, OrderStatus status, BigDecimal total, Map<Long, SalesLine> products) {
+
+        public static OrderSales of(Order order) {
+            if (order == null || order.getOrderDate() == null || order.getStatus() == null) {
+                return null;
+            }
+            Map<Long, SalesLine> products = new HashMap<>();
+            for (OrderItem item : order.getOrderItems()) {
+                if (item.getProduct() == null || item.getProduct().getId() == null) {
+                    continue;
+                }
+                SalesLine line = new SalesLine(
+                        item.getQuantity() == null ? 0 : item.getQuantity(),
+                        item.getSubtotal() == null ? BigDecimal.ZERO : item.getSubtotal().toBigDecimal());
+                products.merge(item.getProduct().getId(), line, SalesLine::plus);
+            }
+            return new OrderSales(order.getOrderDate().toLocalDate(), order.getStatus(),
+                    order.getTotalAmount() == null ? BigDecimal.ZERO : order.getTotalAmount().toBigDecimal(), products);
+        }
+
+        public OrderSales withStatus(OrderStatus newStatus) {
+            return new OrderSales(date, newStatus, total, products);
+        }
+    }
+
+    /**
+     * Quantidade (unidades de um produto ou número de pedidos) e valor.
+     */
+    public record SalesLine(long quantity, BigDecimal revenue) {
+
+        SalesLine plus(SalesLine other) {
+            return new SalesLine(quantity + other.quantity, revenue.add(other.revenue));
+        }
+
+        SalesLine negate() {
+            return new SalesLine(-quantity, revenue.negate());
+        }
+    }
+
+    /**
+     * Mudança de um pedido: antes é nulo na criação e depois é nulo na exclusão.
+     */
+    public record OrderChange(OrderSales before, OrderSales after) {
+    }
+
+    public void apply(OrderSales before, OrderSales after) {
+        applyAll(List.of(new OrderChange(before, after)));
+    }
+
+    /**
+     * Soma a diferença das mudanças às tabelas agregadas. Deve rodar na transação que grava os
+     * pedidos, para que os agregados só mudem se os pedidos forem confirmados.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(List<OrderChange> changes) {
+        // Linhas em ordem fixa: transações concorrentes travam as mesmas linhas na mesma ordem
+        Map<DailyProductKey, SalesLine> productDeltas = new TreeMap<>();
+        Map<DailyStatusKey, SalesLine> statusDeltas = new TreeMap<>();
+        for (OrderChange change : changes) {
+            accumulate(change.before(), -1, productDeltas, statusDeltas);
+            accumulate(change.after(), 1, productDeltas, statusDeltas);
+        }
+        productDeltas.values().removeIf(SalesReportService::isZero);
+        statusDeltas.values().removeIf(SalesReportService::isZero);
+
+        upsert(UPDATE_PRODUCT_SQL, INSERT_PRODUCT_SQL, productDeltas, key -> new Object[] { key.date(), key.productId() });
+        upsert(UPDATE_STATUS_SQL, INSERT_STATUS_SQL, statusDeltas, key -> new Object[] { key.date(), key.status().name() });
+    }
+
+    @Operation(summary = "Vendas por dia", description = "Pedidos e receita de cada dia do período, a partir das tabelas agregadas")
+    @Transactional(readOnly = true)
+    public List<DailySalesDTO> getDailySales(
+            @Parameter(description = "Data inicial (inclusive)") LocalDate from,
+            @Parameter(description = "Data final (inclusive)") LocalDate to) {
+        Map<LocalDate, List<DailyStatusSales>> byDate = new TreeMap<>();
+        for (DailyStatusSales row : dailyStatusSalesRepository.findBySalesDateBetweenOrderBySalesDate(from, to)) {
+            byDate.computeIfAbsent(row.getSalesDate(), date -> new ArrayList<>()).add(row);
+        }
+        List<DailySalesDTO> days = new ArrayList<>(byDate.size());
+        byDate.forEach((date, rows) -> {
+            Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+            long orders = 0;
+            BigDecimal revenue = BigDecimal.ZERO;
+            for (DailyStatusSales row : rows) {
+                if (row.getOrderCount() == 0) {
+                    continue;
+                }
+                byStatus.put(row.getStatus(), row.getOrderCount());
+                orders += row.getOrderCount();
+                if (row.getStatus() != OrderStatus.CANCELED) {
+                    revenue = revenue.add(row.getRevenue());
+                }
+            }
+            if (orders > 0) {
+                days.add(new DailySalesDTO(date, orders, revenue, byStatus));
+            }
+        });
+        return days;
+    }
+
+    @Operation(summary = "Produtos mais vendidos", description = "Receita e unidades por produto no período, ordenados pela receita")
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getTopProducts(
+            @Parameter(description = "Data inicial (inclusive)") LocalDate from,
+            @Parameter(description = "Data final (inclusive)") LocalDate to,
+            @Parameter(description = "Quantidade máxima de produtos") int limit) {
+        return dailyProductSalesRepository.findTopProducts(from, to, PageRequest.of(0, Math.max(1, Math.min(limit, 1000))));
+    }
+
+    /**
+     * Recalcula as tabelas agregadas a partir de pedidos e itens, em uma transação.
+     * Roda todo dia de madrugada e pode ser disparado manualmente.
+     */
+    @Operation(summary = "Reconstruir agregados de vendas", description = "Recalcula as tabelas agregadas a partir dos pedidos")
+    @Scheduled(cron = "${sellora.reports.rebuild-cron:0 30 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        long start = System.nanoTime();
+        jdbcTemplate.update("delete from sales_daily_product");
+        jdbcTemplate.update("delete from sales_daily_status");
+        int products = jdbcTemplate.update(REBUILD_PRODUCT_SQL);
+        int statuses = jdbcTemplate.update(REBUILD_STATUS_SQL);
+        logger.info("Agregados de vendas reconstruídos: {} linhas por produto, {} por status, em {} ms",
+                products, statuses, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Valida e completa o período de um relatório: por padrão, os últimos 30 dias até hoje.
+     */
+    public static LocalDate[] period(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_PERIOD_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final");
+        }
+        if (start.plusDays(MAX_PERIOD_DAYS).isBefore(end.plusDays(1))) {
+            throw new IllegalArgumentException("O período máximo de um relatório é de " + MAX_PERIOD_DAYS + " dias");
+        }
+        return new LocalDate[] { start, end };
+    }
+
+    private static void accumulate(OrderSales sales, int sign,
+            Map<DailyProductKey, SalesLine> productDeltas, Map<DailyStatusKey, SalesLine> statusDeltas) {
+        if (sales == null) {
+            return;
+        }
+        SalesLine order = new SalesLine(1, sales.total());
+        statusDeltas.merge(new DailyStatusKey(sales.date(), sales.status()), sign > 0 ? order : order.negate(), SalesLine::plus);
+        if (sales.status() == OrderStatus.CANCELED) {
+            return;
+        }
+        sales.products().forEach((productId, line) ->
+                productDeltas.merge(new DailyProductKey(sales.date(), productId), sign > 0 ? line : line.negate(), SalesLine::plus));
+    }
+
+    private static boolean isZero(SalesLine line) {
+        return line.quantity() == 0 && line.revenue().signum() == 0;
+    }
+
+    /**
+     * Atualiza as linhas existentes em batch e insere as que ainda não existem. Se outra
+     * transação inserir a mesma linha ao mesmo tempo, a inserção vira atualização.
+     */
+    private <K> void upsert(String updateSql, String insertSql, Map<K, SalesLine> deltas,
+            Function<K, Object[]> keyColumns) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(deltas.keySet());
+        List<Object[]> rows = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            rows.add(row(deltas.get(key), keyColumns.apply(key)));
+        }
+        int[] updated = jdbcTemplate.batchUpdate(updateSql, rows);
+        for (int i = 0; i < keys.size(); i++) {
+            if (updated[i] == 0) {
+                try {
+                    jdbcTemplate.update(insertSql, rows.get(i));
+                } catch (DuplicateKeyException e) {
+                    jdbcTemplate.update(updateSql, rows.get(i));
+                }
+            }
+        }
+    }
+
+    private static Object[] row(SalesLine delta, Object[] key) {
+        return new Object[] { delta.revenue(), delta.quantity(), key[0], key[1] };
+    }
+
+    private record DailyProductKey(LocalDate date, Long productId) implements Comparable<DailyProductKey> {
+        @Override
+        public int compareTo(DailyProductKey other) {
+            int byDate = date.compareTo(other.date);
+            return byDate != 0 ? byDate : productId.compareTo(other.productId);
+        }
+    }
+
+    private record DailyStatusKey(LocalDate date, OrderStatus status) implements Comparable<DailyStatusKey> {
+        @Override
+        public int compareTo(DailyStatusKey other) {
+            int byDate = date.compareTo(other.date);
+            return byDate != 0 ? byDate : status.compareTo(other.status);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.danilo.sellora_commerce.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.danilo.sellora_commerce.dtos.UserKeysDTO;
+import com.danilo.sellora_commerce.exceptions.DuplicateUserException;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Índice em memória das chaves únicas do usuário (username, e-mail e documento).
+ *
+ * Cada chave tem um mapa valor → ID do usuário, com um filtro de Bloom na frente: a maioria
+ * das consultas por valores livres termina no filtro, sem tocar no mapa.
+ * Cadastros reservam os valores com putIfAbsent antes do insert, então dois cadastros
+ * concorrentes com o mesmo valor não chegam ambos ao banco. As constraints unique do banco
+ * continuam valendo como última barreira (ex.: outra instância da aplicação).
+ *
+ * O índice só enxerga o que passou por esta instância: um valor encontrado aqui existe, mas um
+ * valor ausente precisa ser confirmado no banco (veja {@link UserService}).
+ */
+@Component
+public class UserKeyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserKeyIndex.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    public enum Key {
+        USERNAME("username"),
+        EMAIL("email"),
+        DOCUMENT("document");
+
+        private final String label;
+
+        Key(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${sellora.users.index.expected-users:100000}")
+    private long expectedUsers;
+
+    /** Valor → ID do usuário; IDs negativos marcam reservas de cadastros ainda não gravados. */
+    private final Map<Key, ConcurrentHashMap<String, Long>> owners = new EnumMap<>(Key.class);
+    private final ConcurrentHashMap<Long, UserKeysDTO> keysByUser = new ConcurrentHashMap<>();
+    private final AtomicLong nextReservation = new AtomicLong();
+
+    // Inserções usam o read lock (o filtro aceita escritas concorrentes); a reconstrução usa o write lock
+    private final ReentrantReadWriteLock filterLock = new ReentrantReadWriteLock();
+    private volatile Map<Key, BloomFilter> filters;
+    private volatile long filterCapacity;
+    private final AtomicLong filterInsertions = new AtomicLong();
+
+    @PostConstruct
+    public void load() {
+        for (Key key : Key.values()) {
+            owners.put(key, new ConcurrentHashMap<>());
+        }
+        List<UserKeysDTO> users = userRepository.findAllKeys();
+        for (UserKeysDTO user : users) {
+            keysByUser.put(user.id(), user);
+            for (Key key : Key.values()) {
+                String value = valueOf(key, user);
+                if (value != null) {
+                    owners.get(key).put(value, user.id());
+                }
+            }
+        }
+        rebuildFilters(Math.max(expectedUsers, users.size() * 2L));
+        logger.info("Índice de chaves de usuário carregado com {} usuários", users.size());
+    }
+
+    /**
+     * Indica se o valor já pertence a um usuário ou está reservado por um cadastro em andamento.
+     */
+    public boolean isTaken(Key key, String value) {
+        String normalized = normalize(key, value);
+        return normalized != null && filters.get(key).mightContain(normalized) && owners.get(key).containsKey(normalized);
+    }
+
+    /**
+     * ID do usuário dono do valor, ou null quando não existe usuário gravado com ele.
+     */
+    public Long findId(Key key, String value) {
+        String normalized = normalize(key, value);
+        if (normalized == null || !filters.get(key).mightContain(normalized)) {
+            return null;
+        }
+        Long owner = owners.get(key).get(normalized);
+        return owner != null && owner > 0 ? owner : null;
+    }
+
+    /**
+     * Reserva os valores do usuário que ainda não são dele. Falha com {@link DuplicateUserException}
+     * se algum pertencer a outro usuário, desfazendo as reservas já feitas.
+     */
+    public Claim claim(User user) {
+        UserKeysDTO current = user.getId() == null ? null : keysByUser.get(user.getId());
+        Claim claim = new Claim(user.getId(), -nextReservation.incrementAndGet());
+        try {
+            for (Key key : Key.values()) {
+                String value = normalize(key, valueOf(key, user));
+                if (value != null && (current == null || !value.equals(valueOf(key, current)))) {
+                    claim.reserve(key, value);
+                }
+            }
+        } catch (RuntimeException e) {
+            claim.release();
+            throw e;
+        }
+        return claim;
+    }
+
+    /**
+     * Remove uma entrada que não corresponde mais ao banco (ex.: usuário apagado por fora do serviço).
+     */
+    public void evict(Key key, String value, Long userId) {
+        owners.get(key).remove(normalize(key, value), userId);
+    }
+
+    public void remove(Long userId) {
+        UserKeysDTO keys = keysByUser.remove(userId);
+        if (keys != null) {
+            for (Key key : Key.values()) {
+                String value = valueOf(key, keys);
+                if (value != null) {
+                    owners.get(key).remove(value, userId);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return keysByUser.size();
+    }
+
+    public static String valueOf(Key key, User user) {
+        return switch (key) {
+            case USERNAME -> user.getUsername();
+            case EMAIL -> user.getEmail();
+            case DOCUMENT -> user.getDocument();
+        };
+    }
+
+    private static String valueOf(Key key, UserKeysDTO user) {
+        return switch (key) {
+            case USERNAME -> user.username();
+            case EMAIL -> user.email();
+            case DOCUMENT -> user.document();
+        };
+    }
+
+    /**
+     * Documento é comparado só pelos dígitos, como o setter de {@link User} grava.
+     */
+    public static String normalize(Key key, String value) {
+        if (value == null) {
+            return null;
+        }
+        return key == Key.DOCUMENT ? value.replaceAll("\\D", "") : value;
+    }
+
+    private void addToFilter(Key key, String value) {
+        filterLock.readLock().lock();
+        try {
+            filters.get(key).add(value);
+        } finally {
+            filterLock.readLock().unlock();
+        }
+        if (filterInsertions.incrementAndGet() > filterCapacity * Key.values().length) {
+            rebuildFilters(filterCapacity * 2);
+        }
+    }
+
+    /**
+     * Recria os filtros a partir dos mapas. Necessário quando passam da capacidade planejada
+     * (a taxa de falso positivo sobe) e para descartar valores removidos.
+     */
+    private void rebuildFilters(long capacity) {
+        filterLock.writeLock().lock();
+        try {
+            if (filters != null && capacity <= filterCapacity) {
+                return;
+            }
+            Map<Key, BloomFilter> rebuilt = new EnumMap<>(Key.class);
+            long insertions = 0;
+            for (Key key : Key.values()) {
+                BloomFilter filter = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+                for (String value : owners.get(key).keySet()) {
+                    filter.add(value);
+                    insertions++;
+                }
+                rebuilt.put(key, filter);
+            }
+            filters = rebuilt;
+            filterCapacity = capacity;
+            filterInsertions.set(insertions);
+        } finally {
+            filterLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reservas de um cadastro ou alteração. Deve terminar em {@link #commit(User)} depois de gravar
+     * o usuário ou em {@link #release()} se a gravação falhar.
+     */
+    public final class Claim {
+
+        private final Long userId;
+        private final Long reservation;
+        private final List<Map.Entry<Key, String>> reserved = new ArrayList<>();
+
+        private Claim(Long userId, Long reservation) {
+            this.userId = userId;
+            this.reservation = reservation;
+        }
+
+        private void reserve(Key key, String value) {
+            ConcurrentHashMap<String, Long> index = owners.get(key);
+            while (true) {
+                Long owner = index.putIfAbsent(value, reservation);
+                if (owner == null || owner.equals(userId)) {
+                    break;
+                }
+                // Dono gravado que não existe mais no banco: entrada obsoleta, descarta e tenta de novo
+                if (owner > 0 && !userRepository.existsById(owner)) {
+                    index.remove(value, owner);
+                    continue;
+                }
+                throw new DuplicateUserException("The " + key.getLabel() + " '" + value + "' is already in use");
+            }
+            addToFilter(key, value);
+            reserved.add(Map.entry(key, value));
+        }
+
+        public void commit(User saved) {
+            Long id = saved.getId();
+            for (Map.Entry<Key, String> entry : reserved) {
+                owners.get(entry.getKey()).replace(entry.getValue(), reservation, id);
+            }
+            UserKeysDTO previous = keysByUser.put(id,
+                    new UserKeysDTO(id, saved.getUsername(), saved.getEmail(), saved.getDocument()));
+            if (previous != null) {
+                for (Key key : Key.values()) {
+                    String old = valueOf(key, previous);
+                    if (old != null && !old.equals(valueOf(key, saved))) {
+                        owners.get(key).remove(old, id);
+                    }
+                }
+            }
+        }
+
+        public void release() {
+            for (Map.Entry<Key, String> entry : reserved) {
+                owners.get(entry.getKey()).remove(entry.getValue(), reservation);
+            }
+            reserved.clear();
+        }
+    }
+}
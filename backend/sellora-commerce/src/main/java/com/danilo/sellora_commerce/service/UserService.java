@@ -1,15 +1,30 @@
 package com.danilo.sellora_commerce.service;
 
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.danilo.sellora_commerce.dtos.CursorPage;
+import com.danilo.sellora_commerce.dtos.UserAvailabilityDTO;
 import com.danilo.sellora_commerce.dtos.UserDTO;
+import com.danilo.sellora_commerce.dtos.UserStatsDTO;
+import com.danilo.sellora_commerce.exceptions.DuplicateUserException;
 import com.danilo.sellora_commerce.exceptions.UserNotFoundException;
 import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.UserType;
 import com.danilo.sellora_commerce.repositories.UserRepository;
+import com.danilo.sellora_commerce.service.UserKeyIndex.Key;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,49 +35,127 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    @Operation(summary = "Get all users", description = "Retrieve a list of all users in the system.")
-    public List<UserDTO> findAll() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(user -> new UserDTO(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getPhone(),
-                        user.getDocument(),
-                        user.getFullName(),
-                        user.getUserType()))
-                .collect(Collectors.toList());
+    @Autowired
+    private UserKeyIndex userKeyIndex;
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Operation(summary = "List users", description = "Retrieve a page of users ordered by ID, projected straight into UserDTO.")
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> findPage(
+            @Parameter(description = "ID of the last user of the previous page") Long after,
+            @Parameter(description = "Maximum number of users in the page") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long cursor = after != null ? after : 0L;
+
+        // Busca um item a mais para saber se existe próxima página sem precisar de count
+        List<UserDTO> rows = userRepository.findSummariesAfter(cursor, PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<UserDTO> content = rows.subList(0, pageSize);
+        return new CursorPage<>(content, content.get(pageSize - 1).id());
+    }
+
+    @Operation(summary = "User statistics", description = "Count every user, in total and by user type.")
+    @Transactional(readOnly = true)
+    public UserStatsDTO getStats() {
+        Map<UserType, Long> byUserType = new EnumMap<>(UserType.class);
+        for (UserType type : UserType.values()) {
+            byUserType.put(type, 0L);
+        }
+        // uma única consulta agrupada; usuários sem tipo entram só no total
+        long total = 0;
+        for (Object[] row : userRepository.countByUserType()) {
+            long count = (Long) row[1];
+            total += count;
+            if (row[0] != null) {
+                byUserType.put((UserType) row[0], count);
+            }
+        }
+        return new UserStatsDTO(total, byUserType);
+    }
+
+    /**
+     * Percorre todos os usuários em ordem de ID sem criar entidades, entregando cada um ao consumidor.
+     */
+    @Transactional(readOnly = true)
+    public void forEachUser(Consumer<UserDTO> action) {
+        try (Stream<UserDTO> users = userRepository.streamSummaries()) {
+            users.forEach(action);
+        }
     }
 
     @Operation(summary = "Find user by ID", description = "Retrieve a user by their ID.")
     @Parameter(name = "id", description = "ID of the user", required = true)
+    @Transactional(readOnly = true)
     public User findById(@Parameter(description = "User ID") Long id) {
         return userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found, please try again"));
     }
 
     @Operation(summary = "Find user by username", description = "Retrieve a user by their username.")
     @Parameter(name = "username", description = "Username of the user", required = true)
+    @Transactional(readOnly = true)
     public User findByUsername(@Parameter(description = "Username of the user") String username) {
-        return userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User not found, please try again"));
+        return findByKey(Key.USERNAME, username, userRepository::findByUsername);
     }
 
     @Operation(summary = "Find user by email", description = "Retrieve a user by their email.")
     @Parameter(name = "email", description = "Email of the user", required = true)
+    @Transactional(readOnly = true)
     public User findByEmail(@Parameter(description = "Email of the user") String email) {
-        return userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException("User not found, please try again"));
+        return findByKey(Key.EMAIL, email, userRepository::findByEmail);
     }
 
     @Operation(summary = "Find user by document", description = "Retrieve a user by their CPF or CNPJ document.")
     @Parameter(name = "document", description = "CPF or CNPJ of the user", required = true)
+    @Transactional(readOnly = true)
     public User findByDocument(@Parameter(description = "CPF or CNPJ of the user") String document) {
-        return userRepository.findByDocument(document).orElseThrow(() -> new UserNotFoundException("User not found, please try again"));
+        return findByKey(Key.DOCUMENT, document, userRepository::findByDocument);
+    }
+
+    @Operation(summary = "Check availability", description = "Check whether a username, email or document is still free. Values known to be taken are answered from memory.")
+    @Transactional(readOnly = true)
+    public UserAvailabilityDTO checkAvailability(
+            @Parameter(description = "Username to check") String username,
+            @Parameter(description = "Email to check") String email,
+            @Parameter(description = "CPF or CNPJ to check") String document) {
+        return new UserAvailabilityDTO(
+                username == null ? null : isAvailable(Key.USERNAME, username, userRepository::existsByUsername),
+                email == null ? null : isAvailable(Key.EMAIL, email, userRepository::existsByEmail),
+                document == null ? null : isAvailable(Key.DOCUMENT, document, userRepository::existsByDocument));
+    }
+
+    /**
+     * O índice só é confiável quando acha o valor: ele não vê cadastros feitos por outra instância
+     * ou direto no banco, então um valor ausente ainda é confirmado no banco.
+     */
+    private boolean isAvailable(Key key, String rawValue, Predicate<String> existsInDatabase) {
+        String value = UserKeyIndex.normalize(key, rawValue);
+        return !userKeyIndex.isTaken(key, value) && !existsInDatabase.test(value);
+    }
+
+    /**
+     * Busca pelo índice de chaves: valores conhecidos viram uma busca por ID. Se o índice não conhece
+     * o valor (ex.: usuário criado por outra instância) ou está desatualizado, consulta o banco pela chave.
+     */
+    private User findByKey(Key key, String rawValue, Function<String, Optional<User>> query) {
+        String value = UserKeyIndex.normalize(key, rawValue);
+        Long id = userKeyIndex.findId(key, value);
+        Optional<User> user = id == null ? Optional.empty() : userRepository.findById(id)
+                .filter(found -> value.equals(UserKeyIndex.valueOf(key, found)));
+        if (id != null && user.isEmpty()) {
+            userKeyIndex.evict(key, value, id);
+        }
+        return user.or(() -> query.apply(value))
+                .orElseThrow(() -> new UserNotFoundException("User not found, please try again"));
     }
 
     @Operation(summary = "Save user", description = "Create or update a user.")
     @Parameter(name = "user", description = "User to be saved", required = true)
     public User save(@Parameter(description = "User to be saved") User user) {
-        return userRepository.save(user);
+        return saveWithUniqueKeys(user);
     }
 
     @Operation(summary = "Delete user by ID", description = "Delete a user from the system by their ID.")
@@ -70,6 +163,7 @@ public class UserService {
     public void delete(@Parameter(description = "ID of the user to be deleted") Long id) {
         User user = findById(id);
         userRepository.delete(user);
+        userKeyIndex.remove(id);
     }
 
     @Operation(summary = "Update user", description = "Update a user in the system.")
@@ -80,7 +174,27 @@ public class UserService {
         existingUser.setEmail(user.getEmail());
         existingUser.setPhone(user.getPhone());
         existingUser.setUserType(user.getUserType());
-        return userRepository.save(existingUser);
+        return saveWithUniqueKeys(existingUser);
+    }
+
+    /**
+     * Reserva username, e-mail e documento no índice antes de gravar, para que conflitos
+     * sejam detectados sem depender da violação de constraint no banco.
+     */
+    private User saveWithUniqueKeys(User user) {
+        UserKeyIndex.Claim claim = userKeyIndex.claim(user);
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            claim.release();
+            throw new DuplicateUserException("Username, email, phone or document already in use");
+        } catch (RuntimeException e) {
+            claim.release();
+            throw e;
+        }
+        claim.commit(saved);
+        return saved;
     }
 
 }
@@ -0,0 +1,138 @@
+-- Esquema base do perfil fast-startup (H2), no mesmo formato que o Hibernate gera para as entidades.
+-- Roda a cada subida (spring.sql.init.mode=always) e só cria o que ainda não existe; em seguida o Hibernate
+-- confere tabelas e colunas com ddl-auto=validate. Ao mudar uma entidade, atualize este arquivo
+-- (o FastStartupSchemaTest falha enquanto ele estiver diferente do modelo).
+-- As chaves estrangeiras mantêm os nomes gerados pelo Hibernate, para que bancos criados antes com
+-- ddl-auto=update não recebam uma segunda cópia delas.
+
+create sequence if not exists order_items_seq start with 1 increment by 50;
+
+create sequence if not exists orders_seq start with 1 increment by 50;
+
+create sequence if not exists outbox_events_seq start with 1 increment by 50;
+
+create table if not exists idempotency_keys (
+    completed_at timestamp(6),
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    fingerprint varchar(64) not null,
+    idempotency_key varchar(255) not null,
+    response clob,
+    primary key (idempotency_key)
+);
+
+create table if not exists inventory (
+    available bigint not null,
+    product_id bigint not null,
+    reserved bigint not null,
+    primary key (product_id)
+);
+
+create table if not exists order_items (
+    quantity integer not null,
+    subtotal numeric(38,2) not null,
+    id bigint not null,
+    order_id bigint not null,
+    product_id bigint not null,
+    version bigint,
+    primary key (id)
+);
+
+create table if not exists orders (
+    total_amount numeric(38,2) not null,
+    id bigint not null,
+    order_date timestamp(6),
+    updated_at timestamp(6) with time zone,
+    user_id bigint not null,
+    version bigint,
+    status varchar(255) not null check (status in ('PENDING','PROCESSING','SHIPPED','DELIVERED','CANCELED','COMPLETED')),
+    primary key (id)
+);
+
+create table if not exists outbox_events (
+    attempts integer not null,
+    aggregate_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    processed_at timestamp(6),
+    last_error varchar(1000),
+    event_type varchar(255) not null,
+    payload clob not null,
+    primary key (id)
+);
+
+create table if not exists products (
+    price numeric(10,2) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) with time zone,
+    version bigint,
+    image_url varchar(500),
+    description varchar(1000),
+    name varchar(255),
+    primary key (id)
+);
+
+create table if not exists sales_daily_product (
+    revenue numeric(19,2) not null,
+    sales_date date not null,
+    product_id bigint not null,
+    units bigint not null,
+    primary key (sales_date, product_id)
+);
+
+create table if not exists sales_daily_status (
+    revenue numeric(19,2) not null,
+    sales_date date not null,
+    order_count bigint not null,
+    status varchar(255) not null check (status in ('PENDING','PROCESSING','SHIPPED','DELIVERED','CANCELED','COMPLETED')),
+    primary key (sales_date, status)
+);
+
+create table if not exists stock_movements (
+    applied_at timestamp(6) not null,
+    event_id bigint not null,
+    order_id bigint not null,
+    status varchar(255) not null check (status in ('PENDING','PROCESSING','SHIPPED','DELIVERED','CANCELED','COMPLETED')),
+    primary key (event_id)
+);
+
+create table if not exists users (
+    status boolean,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    city varchar(255),
+    country varchar(255),
+    document varchar(255) unique,
+    email varchar(255) unique,
+    full_name varchar(255),
+    number varchar(255),
+    password varchar(255),
+    phone varchar(255) unique,
+    state varchar(255),
+    street varchar(255),
+    user_type varchar(255) not null check (user_type in ('ADMIN','SELLER','CUSTOMER')),
+    username varchar(255) unique,
+    zip_code varchar(255),
+    primary key (id)
+);
+
+create index if not exists idx_idempotency_expires
+    on idempotency_keys (expires_at);
+
+create index if not exists idx_outbox_pending
+    on outbox_events (processed_at, id);
+
+alter table order_items
+    add constraint if not exists FKbioxgbv59vetrxe0ejfubep1w
+    foreign key (order_id)
+    references orders;
+
+alter table order_items
+    add constraint if not exists FKocimc7dtr037rh4ls4l95nlfi
+    foreign key (product_id)
+    references products;
+
+alter table orders
+    add constraint if not exists FK32ql8ubntj5uh44ph9659tiih
+    foreign key (user_id)
+    references users;
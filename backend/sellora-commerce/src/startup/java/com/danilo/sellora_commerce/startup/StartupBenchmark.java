@@ -0,0 +1,193 @@
+package com.danilo.sellora_commerce.startup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo até a primeira requisição: sobe a aplicação em um processo separado e mede, a partir do início do
+ * processo, quanto tempo leva até GET /api/products responder 200. Todas as variantes usam o mesmo H2 em
+ * arquivo, criado no treino, para que a comparação inclua a conexão com um banco que já tem o esquema.
+ *
+ * Dois modos, chamados pelo profile fast-startup do pom (propriedades startup.*):
+ * <ul>
+ * <li>train: sobe o jar do perfil fast-startup com -XX:ArchiveClassesAtExit, faz algumas requisições e encerra
+ * a aplicação; a JVM grava na saída o arquivo AppCDS com as classes carregadas;</li>
+ * <li>benchmark: alterna o jar executável padrão, o perfil fast-startup com AOT e o mesmo com o arquivo AppCDS,
+ * startup.iterations vezes cada, e grava mínimo, mediana e máximo em startup.output.</li>
+ * </ul>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final String FIRST_REQUEST = "/api/products";
+    private static final List<String> TRAINING_REQUESTS = List.of(FIRST_REQUEST, "/api/orders", "/users");
+
+    private final String java = property("java");
+    private final Path jar = Path.of(property("jar"));
+    private final Path archive = Path.of(property("archive"));
+    private final String database = property("database");
+    private final List<String> jvmArgs = Arrays.stream(property("jvm-args").trim().split("\\s+"))
+            .filter(arg -> !arg.isEmpty())
+            .toList();
+    private final Path logs = jar.resolveSibling("logs");
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    /**
+     * @param log prefixo dos arquivos de log em logs/
+     */
+    private record Variant(String name, String log, List<String> command) {
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark();
+        Files.createDirectories(benchmark.logs);
+        switch (property("mode")) {
+            case "train" -> benchmark.train();
+            case "benchmark" -> benchmark.benchmark();
+            default -> throw new IllegalArgumentException("startup.mode deve ser train ou benchmark");
+        }
+    }
+
+    /**
+     * Gera o arquivo AppCDS. Na primeira subida o perfil também cria o esquema no H2 pelo script base.
+     */
+    private void train() throws IOException, InterruptedException {
+        Files.deleteIfExists(archive);
+        List<String> command = fastStartup("-XX:ArchiveClassesAtExit=" + archive);
+        long millis = run("train", command, TRAINING_REQUESTS);
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("A JVM não gravou o arquivo AppCDS " + archive + "; veja " + logs.resolve("train.log"));
+        }
+        System.out.printf("Arquivo AppCDS gravado em %s (treino respondeu em %d ms)%n", archive, millis);
+    }
+
+    private void benchmark() throws IOException, InterruptedException {
+        int iterations = Integer.parseInt(property("iterations"));
+        List<Variant> variants = List.of(
+                new Variant("jar executável", "executable", executableJar()),
+                new Variant("fast-startup (AOT)", "aot", fastStartup()),
+                new Variant("fast-startup (AOT + AppCDS)", "aot-cds", fastStartup("-XX:SharedArchiveFile=" + archive)));
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        variants.forEach(variant -> results.put(variant.name(), new long[iterations]));
+        // variantes intercaladas: variações da máquina ao longo da execução afetam todas igualmente
+        for (int i = 0; i < iterations; i++) {
+            for (Variant variant : variants) {
+                long millis = run(variant.log() + "-" + i, new ArrayList<>(variant.command()), List.of(FIRST_REQUEST));
+                results.get(variant.name())[i] = millis;
+            }
+        }
+
+        Path output = Path.of(property("output"));
+        try (PrintStream report = new PrintStream(Files.newOutputStream(output), true, "UTF-8")) {
+            for (PrintStream out : List.of(System.out, report)) {
+                out.printf("Tempo até a primeira requisição (GET %s), %d execuções, jvm-args: %s%n",
+                        FIRST_REQUEST, iterations, String.join(" ", jvmArgs));
+                out.printf("%-30s %10s %10s %10s%n", "variante", "mín (ms)", "mediana", "máx");
+                results.forEach((name, millis) -> {
+                    long[] sorted = millis.clone();
+                    Arrays.sort(sorted);
+                    out.printf("%-30s %10d %10d %10d%n", name, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+                });
+            }
+        }
+        System.out.println("Relatório: " + output.toAbsolutePath());
+    }
+
+    private List<String> executableJar() {
+        List<String> command = new ArrayList<>(List.of(java));
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", property("executable-jar")));
+        return command;
+    }
+
+    private List<String> fastStartup(String... extraJvmArgs) {
+        List<String> command = new ArrayList<>(List.of(java));
+        command.addAll(jvmArgs);
+        command.addAll(List.of(extraJvmArgs));
+        command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", jar.toString(), "--spring.profiles.active=fast-startup"));
+        return command;
+    }
+
+    /**
+     * Sobe a aplicação, faz as requisições na ordem e encerra o processo normalmente (SIGTERM).
+     *
+     * @return milissegundos entre o início do processo e a primeira resposta 200
+     */
+    private long run(String name, List<String> command, List<String> requests) throws IOException, InterruptedException {
+        int port = freePort();
+        command.addAll(List.of("--server.port=" + port, "--spring.datasource.url=" + database));
+        Path log = logs.resolve(name + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long millis = -1;
+            for (String path : requests) {
+                awaitOk(process, URI.create("http://localhost:" + port + path), log);
+                if (millis < 0) {
+                    millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            }
+            System.out.printf("%-34s %6d ms%n", name, millis);
+            return millis;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(1, TimeUnit.MINUTES)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void awaitOk(Process process, URI uri, Path log) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("A aplicação terminou antes de responder; veja " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // servidor ainda não está ouvindo
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Sem resposta de " + uri + " em " + STARTUP_TIMEOUT + "; veja " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String property(String name) {
+        String value = System.getProperty("startup." + name);
+        if (value == null) {
+            throw new IllegalArgumentException("Propriedade startup." + name + " não definida (use mvn -Pfast-startup verify)");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,31 @@
+package com.danilo.sellora_commerce;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * O perfil fast-startup sobe em um banco vazio só com o script base: o contexto carregar significa que
+ * o ddl-auto=validate encontrou todas as tabelas e colunas das entidades.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:fast_startup_schema")
+@ActiveProfiles("fast-startup")
+class FastStartupSchemaTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void baselineSchemaMatchesTheEntitiesAndCanRunAgain() {
+        // a cada subida o script roda de novo sobre o esquema existente
+        assertThatCode(() -> new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(dataSource))
+                .doesNotThrowAnyException();
+    }
+}
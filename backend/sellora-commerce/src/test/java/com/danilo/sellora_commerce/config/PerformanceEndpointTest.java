@@ -0,0 +1,94 @@
+package com.danilo.sellora_commerce.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PerformanceEndpointTest {
+
+    private static final String EXPORT = "/api/orders/export";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void inspectorCountsOnlyWhileStarted() {
+        QueryCountInspector inspector = new QueryCountInspector();
+        inspector.inspect("select 1");
+
+        AtomicInteger counter = QueryCountInspector.start();
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        assertThat(QueryCountInspector.stop()).isEqualTo(2);
+
+        inspector.inspect("select 3");
+        assertThat(counter.get()).isEqualTo(2);
+        assertThat(QueryCountInspector.stop()).isZero();
+    }
+
+    @Test
+    void queriesOfAsyncResponsesAreCountedWhenTheyComplete() throws Exception {
+        double before = queries("GET", EXPORT).map(DistributionSummary::totalAmount).orElse(0.0);
+
+        MvcResult started = mockMvc.perform(get(EXPORT).param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        // a consulta de exportação roda na thread do executor assíncrono, não na da requisição
+        assertThat(queries("GET", EXPORT).orElseThrow().totalAmount()).isGreaterThan(before);
+    }
+
+    @Test
+    void reportListsEndpointsWithLatencyAndQueries() throws Exception {
+        Product product = new Product();
+        product.setName("Régua");
+        product.setPrice(Money.parse("4.50"));
+        product = productRepository.save(product);
+        mockMvc.perform(get("/api/products/" + product.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/performance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endpoints[?(@.uri == '/api/products/{id}' && @.method == 'GET')]").exists())
+                .andExpect(jsonPath("$.endpoints[?(@.uri == '/api/products/{id}')].count").value(everyItem(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.endpoints[?(@.uri == '/api/products/{id}')].maxQueries").value(everyItem(greaterThanOrEqualTo(1.0))))
+                .andExpect(jsonPath("$.endpoints[?(@.uri =~ /\\/actuator.*/)]").doesNotExist())
+                .andExpect(jsonPath("$.hibernate").exists())
+                .andExpect(jsonPath("$.connectionPool").exists());
+    }
+
+    private Optional<DistributionSummary> queries(String method, String uri) {
+        return Optional.ofNullable(meterRegistry.find(RequestMetricsFilter.QUERIES_METRIC)
+                .tag("method", method).tag("uri", uri).summary());
+    }
+}
@@ -0,0 +1,75 @@
+package com.danilo.sellora_commerce.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest(properties = {
+        "sellora.ratelimit.requests-per-second=0.1",
+        "sellora.ratelimit.burst=2",
+        "sellora.ratelimit.trusted-proxies=10.0.0.1"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    private static final String CLIENT_HEADER = "X-Client-Id";
+    private static final String PROXY = "10.0.0.1";
+    private static final String FRONTEND = "http://localhost:5500";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void clientOverItsQuotaGetsTooManyRequestsWithoutAffectingOthers() throws Exception {
+        mockMvc.perform(viaProxy("/api/orders", "abusivo")).andExpect(status().isOk());
+        mockMvc.perform(viaProxy("/users", "abusivo")).andExpect(status().isOk());
+
+        mockMvc.perform(viaProxy("/api/orders", "abusivo").header(HttpHeaders.ORIGIN, FRONTEND))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, FRONTEND))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"))
+                .andExpect(jsonPath("$.message").isNotEmpty())
+                .andExpect(jsonPath("$.timestamp").exists());
+
+        mockMvc.perform(viaProxy("/api/orders", "comportado")).andExpect(status().isOk());
+    }
+
+    @Test
+    void clientHeaderIsIgnoredOutsideTrustedProxies() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(fromAddress("/api/orders", "203.0.113.7").header(CLIENT_HEADER, "rotativo-" + i))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(fromAddress("/api/orders", "203.0.113.7").header(CLIENT_HEADER, "rotativo-2"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void pathsOutsideTheConfiguredOnesAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(viaProxy("/api/products", "catalogo")).andExpect(status().isOk());
+        }
+    }
+
+    private static MockHttpServletRequestBuilder viaProxy(String path, String client) {
+        return fromAddress(path, PROXY).header(CLIENT_HEADER, client);
+    }
+
+    private static MockHttpServletRequestBuilder fromAddress(String path, String remoteAddr) {
+        return get(path).with(request -> {
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        });
+    }
+}
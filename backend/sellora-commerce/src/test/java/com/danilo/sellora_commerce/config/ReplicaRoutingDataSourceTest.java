@@ -0,0 +1,193 @@
+package com.danilo.sellora_commerce.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Roteamento com dois H2 independentes. A "replicação" é a cópia do heartbeat feita pelo teste.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final TestClock clock = new TestClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        for (HikariDataSource dataSource : new HikariDataSource[] { primary, replica }) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("create table marker (name varchar(20))");
+            jdbc.update("insert into marker values (?)", dataSource == primary ? "primary" : "replica");
+        }
+        new JdbcTemplate(replica).execute(ReplicaLagMonitor.CREATE_SQL);
+
+        monitor = new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(2), clock);
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, monitor, meterRegistry));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnlyWhileItIsCaughtUp() {
+        clock.millis = 1_000;
+        monitor.check();
+        assertThat(monitor.isReplicaAvailable()).isFalse();
+        assertThat(read(readOnly)).isEqualTo("primary");
+
+        replicate();
+        clock.millis = 1_500;
+        monitor.check();
+        assertThat(monitor.getLagMillis()).isZero();
+        assertThat(read(readOnly)).isEqualTo("replica");
+        assertThat(read(readWrite)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("select name from marker", String.class)).isEqualTo("primary");
+        assertThat(ReplicaRoutingDataSource.onPrimary(() -> read(readOnly))).isEqualTo("primary");
+
+        // a réplica parou no heartbeat de 1000: em 5000 está 4 s atrasada
+        clock.millis = 5_000;
+        monitor.check();
+        assertThat(monitor.getLagMillis()).isEqualTo(4_000);
+        assertThat(read(readOnly)).isEqualTo("primary");
+
+        replicate();
+        clock.millis = 5_200;
+        monitor.check();
+        assertThat(read(readOnly)).isEqualTo("replica");
+        assertThat(meterRegistry.get("sellora.datasource.connections").tag("target", "replica").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void replicaConnectionFailureFallsBackToThePrimary() {
+        monitor.check();
+        replicate();
+        clock.millis += 100;
+        monitor.check();
+        assertThat(read(readOnly)).isEqualTo("replica");
+
+        replica.close();
+        assertThat(read(readOnly)).isEqualTo("primary");
+        assertThat(monitor.isReplicaAvailable()).isFalse();
+    }
+
+    @Test
+    void connectionsWithExplicitCredentialsAreRoutedTheSameWay() throws SQLException {
+        monitor.check();
+        replicate();
+        clock.millis += 100;
+        monitor.check();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                withoutPool(primary), withoutPool(replica), monitor, meterRegistry);
+
+        assertThat(marker(routing.getConnection("sa", ""))).isEqualTo("primary");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            assertThat(marker(routing.getConnection("sa", ""))).isEqualTo("replica");
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+        assertThat(meterRegistry.get("sellora.datasource.connections").tag("target", "replica").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static String marker(Connection connection) throws SQLException {
+        try (connection; Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("select name from marker")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    /**
+     * O HikariCP não aceita credenciais por conexão; o H2 direto aceita.
+     */
+    private static DataSource withoutPool(HikariDataSource pool) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(pool.getJdbcUrl());
+        return dataSource;
+    }
+
+    private String read(TransactionTemplate template) {
+        return template.execute(tx -> jdbcTemplate.queryForObject("select name from marker", String.class));
+    }
+
+    private void replicate() {
+        Long beat = new JdbcTemplate(primary).queryForObject(ReplicaLagMonitor.SELECT_SQL, Long.class);
+        JdbcTemplate target = new JdbcTemplate(replica);
+        target.update("delete from replica_heartbeat");
+        target.update("insert into replica_heartbeat (id, beat_millis) values (1, ?)", beat);
+    }
+
+    private static HikariDataSource h2(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        // o banco em memória existe enquanto o pool mantiver conexões abertas
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + UUID.randomUUID());
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+
+    private static final class TestClock extends Clock {
+
+        private long millis = 1;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
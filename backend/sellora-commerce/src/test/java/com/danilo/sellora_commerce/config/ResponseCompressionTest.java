@@ -0,0 +1,117 @@
+package com.danilo.sellora_commerce.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compressão no Tomcat real: respostas JSON abaixo de server.compression.min-response-size (2 KB) saem com
+ * Content-Length e sem gzip; as maiores saem comprimidas, escritas em streaming depois dos primeiros 2 KB.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseCompressionTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllByIdInBatch(ids);
+    }
+
+    @Test
+    void smallResponsesAreSentWithContentLengthAndNotCompressed() throws Exception {
+        Long id = createProducts(1).get(0);
+
+        HttpResponse<byte[]> response = get("/api/products/" + id);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(response.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH)).hasValue(response.body().length);
+        assertThat(objectMapper.readTree(response.body()).get("id").asLong()).isEqualTo(id);
+    }
+
+    @Test
+    void largeResponsesAreCompressed() throws Exception {
+        List<Long> created = createProducts(100);
+
+        HttpResponse<byte[]> response = get("/api/products?size=100&after=" + (created.get(0) - 1));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            JsonNode products = objectMapper.readTree(body);
+            assertThat(products.size()).isEqualTo(100);
+            assertThat(products.get(99).get("id").asLong()).isEqualTo(created.get(99));
+        }
+    }
+
+    @Test
+    void onlyBodiesUpToTheLimitAreBuffered() throws Exception {
+        BufferedJacksonConverters.Json converter = new BufferedJacksonConverters.Json(objectMapper, 16);
+
+        MockHttpOutputMessage small = new MockHttpOutputMessage();
+        converter.write(List.of(1, 2), MediaType.APPLICATION_JSON, small);
+        assertThat(small.getHeaders().getContentLength()).isEqualTo(small.getBodyAsBytes().length);
+
+        String text = "x".repeat(100);
+        MockHttpOutputMessage large = new MockHttpOutputMessage();
+        converter.write(List.of(text), MediaType.APPLICATION_JSON, large);
+        assertThat(large.getHeaders().getContentLength()).isEqualTo(-1);
+        assertThat(large.getBodyAsString()).isEqualTo("[\"" + text + "\"]");
+    }
+
+    private HttpResponse<byte[]> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private List<Long> createProducts(int count) {
+        List<Product> products = IntStream.range(0, count).mapToObj(i -> {
+            Product product = new Product();
+            product.setName("Produto comprimido " + i);
+            product.setDescription("Descrição do produto " + i);
+            product.setPrice(Money.parse("10.00"));
+            return product;
+        }).toList();
+        List<Long> created = productRepository.saveAll(products).stream().map(Product::getId).toList();
+        ids.addAll(created);
+        return created;
+    }
+}
@@ -0,0 +1,67 @@
+package com.danilo.sellora_commerce.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsTheBurstAndThenOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 10);
+
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isPositive();
+    }
+
+    @Test
+    void refillsUpToTheCapacityOnly() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertThat(bucket.tryAcquire(0)).isZero();
+
+        long idle = 10 * SECOND;
+        int admitted = 0;
+        while (bucket.tryAcquire(idle) == 0) {
+            admitted++;
+        }
+        assertThat(admitted).isEqualTo(5);
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheCapacity() throws Exception {
+        int threads = 8;
+        TokenBucket bucket = new TokenBucket(1, 1000, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(admitted.get()).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,173 @@
+package com.danilo.sellora_commerce.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+import com.danilo.sellora_commerce.service.OrderService;
+import com.danilo.sellora_commerce.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> createdOrders = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(createdOrders);
+    }
+
+    @Test
+    void productReadsAnswerNotModifiedUntilTheProductChanges() throws Exception {
+        Product product = createProduct();
+        String url = "/api/products/" + product.getId();
+        String pageUrl = "/api/products?size=1&after=" + (product.getId() - 1);
+
+        String etag = etagOf(url);
+        String pageEtag = etagOf(pageUrl);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get(pageUrl).header(HttpHeaders.IF_NONE_MATCH, pageEtag))
+                .andExpect(status().isNotModified());
+
+        product.setPrice(Money.parse("12.00"));
+        productService.updateProduct(product.getId(), product);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ProductService.versionOf(productService.getProductById(product.getId())).etag("product")));
+        mockMvc.perform(get(pageUrl).header(HttpHeaders.IF_NONE_MATCH, pageEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void orderReadsAreValidatedWithoutLoadingTheOrder() throws Exception {
+        Product product = createProduct();
+        Order order = createOrder(product);
+        String url = "/api/orders/" + order.getId();
+
+        String etag = etagOf(url);
+        String listEtag = etagOf("/api/orders");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        mockMvc.perform(get("/api/orders").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        orderService.changeStatus(order.getId(), OrderStatus.PROCESSING);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk());
+        String processedEtag = etagOf(url);
+
+        // o produto aparece dentro do pedido, então alterá-lo também muda a versão do pedido
+        product.setName("Produto renomeado");
+        productService.updateProduct(product.getId(), product);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, processedEtag)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/orders").header(HttpHeaders.IF_NONE_MATCH, listEtag)).andExpect(status().isOk());
+    }
+
+    @Test
+    void listsUseOnlyTheEtagSoDeletesAreSeen() throws Exception {
+        createOrder(createProduct());
+        Order deleted = createOrder(createProduct());
+        mockMvc.perform(get("/api/orders"))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+        String listEtag = etagOf("/api/orders");
+
+        orderService.deleteOrder(deleted.getId());
+        mockMvc.perform(get("/api/orders").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    private String etagOf(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private Order createOrder(Product product) {
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(2);
+
+        Order order = new Order();
+        order.setUser(createUser());
+        order.setStatus(OrderStatus.PENDING);
+        order.getOrderItems().add(item);
+        Order created = orderService.createOrder(order);
+        createdOrders.add(created.getId());
+        return created;
+    }
+
+    private Product createProduct() {
+        Product product = new Product();
+        product.setName("Produto");
+        product.setPrice(Money.parse("10.00"));
+        return productService.createProduct(product);
+    }
+
+    private User createUser() {
+        long sequence = ThreadLocalRandom.current().nextLong(100_000_000_000L);
+        User user = new User();
+        user.setFullName("Cliente");
+        user.setUsername("cliente" + sequence);
+        user.setEmail("cliente" + sequence + "@email.com");
+        user.setPassword("secret");
+        user.setPhone("+55 " + sequence);
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument(String.format("%011d", sequence));
+        return userRepository.save(user);
+    }
+}
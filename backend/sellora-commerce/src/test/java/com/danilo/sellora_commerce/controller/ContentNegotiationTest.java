@@ -0,0 +1,62 @@
+package com.danilo.sellora_commerce.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ContentNegotiationTest {
+
+    private static final String CBOR = "application/cbor";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void cborCarriesTheSameContentAsJsonWithContentLength() throws Exception {
+        Product product = new Product();
+        product.setName("Caderno");
+        product.setPrice(Money.parse("15.90"));
+        product = productService.createProduct(product);
+        String url = "/api/products/" + product.getId();
+
+        MvcResult json = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get(url).header(HttpHeaders.ACCEPT, CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, CBOR))
+                .andReturn();
+
+        byte[] cborBody = cbor.getResponse().getContentAsByteArray();
+        assertThat(cbor.getResponse().getContentLength()).isEqualTo(cborBody.length);
+        assertThat(cborBody.length).isLessThan(json.getResponse().getContentAsByteArray().length);
+        JsonNode fromJson = new JsonMapper().readTree(json.getResponse().getContentAsByteArray());
+        JsonNode fromCbor = new CBORMapper().readTree(cborBody);
+        assertThat(fromCbor.get("name").asText()).isEqualTo("Caderno");
+        assertThat(fromCbor.get("price").decimalValue()).isEqualByComparingTo(fromJson.get("price").decimalValue());
+        assertThat(fromCbor.get("version").asLong()).isEqualTo(fromJson.get("version").asLong());
+    }
+}
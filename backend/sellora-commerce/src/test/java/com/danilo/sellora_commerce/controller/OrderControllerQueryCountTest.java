@@ -0,0 +1,114 @@
+package com.danilo.sellora_commerce.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Garante que a listagem de pedidos não sofre de N+1: o número de comandos SQL
+ * não depende da quantidade de pedidos, itens, produtos ou usuários.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class OrderControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 5, 25 })
+    void listOrdersUsesSingleStatementRegardlessOfOrderCount(int orderCount) throws Exception {
+        createOrders(orderCount);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(orderCount))
+                .andExpect(jsonPath("$[0].user.username").exists())
+                .andExpect(jsonPath("$[0].orderItems[0].product.name").exists());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void createOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setFullName("Cliente " + i);
+            user.setUsername("cliente" + i);
+            user.setEmail("cliente" + i + "@email.com");
+            user.setPassword("secret");
+            user.setPhone("1199999" + String.format("%04d", i));
+            user.setUserType(UserType.CUSTOMER);
+            user.setDocument(String.format("%011d", i));
+            userRepository.save(user);
+
+            Order order = new Order();
+            order.setUser(user);
+            order.setStatus(OrderStatus.PENDING);
+            for (int j = 0; j < 3; j++) {
+                Product product = new Product();
+                product.setName("Produto " + i + "-" + j);
+                product.setPrice(Money.parse("10.00"));
+                productRepository.save(product);
+
+                OrderItem item = new OrderItem();
+                item.setProduct(product);
+                item.setQuantity(j + 1);
+                item.calculateSubtotal();
+                order.addItem(item);
+            }
+            orderRepository.save(order);
+        }
+    }
+}
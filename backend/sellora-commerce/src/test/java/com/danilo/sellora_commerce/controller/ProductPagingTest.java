@@ -0,0 +1,94 @@
+package com.danilo.sellora_commerce.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.service.ProductService;
+
+/**
+ * Contrato da listagem de produtos por cursor: página padrão, limite de tamanho e última página.
+ * Os produtos criados aqui são os de maior ID, então as páginas a partir do primeiro deles são previsíveis.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductPagingTest {
+
+    private static final String NEXT_CURSOR = ProductController.NEXT_CURSOR_HEADER;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createProducts() {
+        List<Product> products = IntStream.range(0, ProductService.MAX_PAGE_SIZE + 1).mapToObj(i -> {
+            Product product = new Product();
+            product.setName("Produto paginado " + i);
+            product.setPrice(Money.parse("1.00"));
+            return product;
+        }).toList();
+        productRepository.saveAll(products).forEach(product -> ids.add(product.getId()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllByIdInBatch(ids);
+    }
+
+    @Test
+    void defaultPageHasFiftyProductsAndTheCursorOfTheLast() throws Exception {
+        mockMvc.perform(get("/api/products").param("after", String.valueOf(ids.get(0) - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ProductService.DEFAULT_PAGE_SIZE))
+                .andExpect(jsonPath("$[0].id").value(ids.get(0)))
+                .andExpect(header().string(NEXT_CURSOR, String.valueOf(ids.get(ProductService.DEFAULT_PAGE_SIZE - 1))));
+    }
+
+    @Test
+    void pageSizeIsClampedToTheMaximum() throws Exception {
+        mockMvc.perform(get("/api/products").param("after", String.valueOf(ids.get(0) - 1)).param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ProductService.MAX_PAGE_SIZE))
+                .andExpect(header().string(NEXT_CURSOR, String.valueOf(ids.get(ProductService.MAX_PAGE_SIZE - 1))));
+
+        mockMvc.perform(get("/api/products").param("after", String.valueOf(ids.get(0) - 1)).param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(NEXT_CURSOR, String.valueOf(ids.get(0))));
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        mockMvc.perform(get("/api/products").param("after", String.valueOf(ids.get(ProductService.MAX_PAGE_SIZE - 1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ids.get(ProductService.MAX_PAGE_SIZE)))
+                .andExpect(header().doesNotExist(NEXT_CURSOR));
+
+        mockMvc.perform(get("/api/products").param("after", String.valueOf(ids.get(ProductService.MAX_PAGE_SIZE))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0))
+                .andExpect(header().doesNotExist(NEXT_CURSOR));
+    }
+}
@@ -0,0 +1,41 @@
+package com.danilo.sellora_commerce.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+class MoneyTest {
+
+    private final JsonMapper mapper = new JsonMapper();
+
+    @Test
+    void formatsAndConvertsExactly() {
+        assertThat(Money.parse("1234.5")).hasToString("1234.50");
+        assertThat(Money.ofCents(-5)).hasToString("-0.05");
+        assertThat(Money.ofCents(Long.MIN_VALUE)).hasToString(BigDecimal.valueOf(Long.MIN_VALUE, 2).toPlainString());
+        assertThat(Money.parse("19.90").times(3)).isEqualTo(Money.ofCents(5970));
+        assertThat(new MoneyConverter().convertToDatabaseColumn(Money.parse("0.1"))).isEqualTo(new BigDecimal("0.10"));
+    }
+
+    @Test
+    void rejectsFractionsOfCentsAndOverflow() {
+        assertThatThrownBy(() -> Money.parse("1.005")).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> mapper.readValue("1.999", Money.class)).isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void jsonKeepsTwoDecimalPlaces() throws Exception {
+        assertThat(mapper.writeValueAsString(Money.parse("2.5"))).isEqualTo("2.50");
+        assertThat(mapper.readValue("2.5", Money.class)).isEqualTo(Money.ofCents(250));
+        assertThat(mapper.readValue("20", Money.class)).isEqualTo(Money.ofCents(2000));
+        assertThat(mapper.readValue("\"7.00\"", Money.class)).isEqualTo(Money.ofCents(700));
+    }
+}
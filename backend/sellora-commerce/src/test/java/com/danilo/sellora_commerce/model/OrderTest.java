@@ -0,0 +1,92 @@
+package com.danilo.sellora_commerce.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OrderTest {
+
+    @Test
+    void totalFollowsItemChangesIncrementally() {
+        Order order = new Order();
+        OrderItem first = item("10.00", 2);
+        OrderItem second = item("5.50", 1);
+
+        order.addItem(first);
+        order.addItem(second);
+        assertThat(order.getTotalAmount()).isEqualTo(Money.parse("25.50"));
+
+        order.updateItemQuantity(first, 3);
+        assertThat(order.getTotalAmount()).isEqualTo(Money.parse("35.50"));
+
+        order.removeItem(second);
+        assertThat(order.getTotalAmount()).isEqualTo(Money.parse("30.00"));
+        assertThat(order.verifyTotal()).isTrue();
+
+        order.clearItems();
+        assertThat(order.getTotalAmount()).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    void verifyTotalFlagsAndCorrectsDrift() {
+        Order order = new Order();
+        order.addItem(item("10.00", 1));
+        order.setTotalAmount(Money.parse("99.00"));
+
+        assertThat(order.verifyTotal()).isFalse();
+        assertThat(order.getTotalAmount()).isEqualTo(Money.parse("10.00"));
+    }
+
+    @Test
+    void calculateTotalsPricesLinesInCentsAndKeepsUnchangedSubtotals() {
+        Order order = new Order();
+        OrderItem first = item("10.00", 2);
+        OrderItem second = item("0.35", 3);
+        order.getOrderItems().addAll(List.of(first, second));
+        Money unchanged = first.getSubtotal();
+
+        second.setQuantity(4);
+        order.calculateTotals();
+
+        assertThat(first.getSubtotal()).isSameAs(unchanged);
+        assertThat(second.getSubtotal()).isEqualTo(Money.parse("1.40"));
+        assertThat(order.getTotalAmount()).isEqualTo(Money.parse("21.40"));
+        assertThat(order.verifyTotal()).isTrue();
+    }
+
+    @Test
+    void replaceItemsKeepsLinesOfProductsThatStay() {
+        Order order = new Order();
+        OrderItem kept = item(1L, "10.00", 2);
+        OrderItem removed = item(2L, "5.00", 1);
+        order.addItem(kept);
+        order.addItem(removed);
+
+        OrderItem added = item(3L, "1.00", 4);
+        order.replaceItems(List.of(item(1L, "10.00", 1), added, item(1L, "10.00", 2)));
+
+        assertThat(order.getOrderItems()).containsExactly(kept, added);
+        assertThat(kept.getQuantity()).isEqualTo(3);
+        assertThat(removed.getOrder()).isNull();
+        assertThat(order.getTotalAmount()).isEqualTo(Money.parse("34.00"));
+        assertThat(order.verifyTotal()).isTrue();
+    }
+
+    private static OrderItem item(String price, int quantity) {
+        return item(null, price, quantity);
+    }
+
+    private static OrderItem item(Long productId, String price, int quantity) {
+        Product product = new Product();
+        product.setId(productId);
+        product.setPrice(Money.parse(price));
+
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.calculateSubtotal();
+        return item;
+    }
+}
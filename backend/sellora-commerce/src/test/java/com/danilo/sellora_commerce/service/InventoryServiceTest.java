@@ -0,0 +1,123 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.danilo.sellora_commerce.dtos.InventoryDTO;
+import com.danilo.sellora_commerce.exceptions.InsufficientStockException;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.repositories.InventoryRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+
+@SpringBootTest
+class InventoryServiceTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        Long productId = createProduct();
+        inventoryService.setAvailable(productId, 100);
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 500; i++) {
+            executor.submit(() -> {
+                start.await();
+                try {
+                    inventoryService.reserve(Map.of(productId, 1));
+                    reserved.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(reserved.get()).isEqualTo(100);
+        assertThat(rejected.get()).isEqualTo(400);
+        InventoryDTO inventory = inventoryService.getInventory(productId);
+        assertThat(inventory.available()).isZero();
+        assertThat(inventory.reserved()).isEqualTo(100);
+
+        inventoryService.flush();
+        assertThat(inventoryRepository.findById(productId)).get()
+                .satisfies(row -> assertThat(row.getReserved()).isEqualTo(100));
+    }
+
+    @Test
+    void failedMultiProductReservationLeavesStockUntouched() {
+        Long first = createProduct();
+        Long second = createProduct();
+        inventoryService.setAvailable(first, 5);
+        inventoryService.setAvailable(second, 1);
+
+        assertThatThrownBy(() -> inventoryService.reserve(Map.of(first, 2, second, 3)))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(inventoryService.getInventory(first).available()).isEqualTo(5);
+        assertThat(inventoryService.getInventory(first).reserved()).isZero();
+        assertThat(inventoryService.getInventory(second).available()).isEqualTo(1);
+    }
+
+    @Test
+    void releaseReturnsStockAndCommitConsumesIt() {
+        Long productId = createProduct();
+        inventoryService.setAvailable(productId, 10);
+
+        inventoryService.reserve(Map.of(productId, 4));
+        inventoryService.release(Map.of(productId, 1));
+        inventoryService.commit(Map.of(productId, 3));
+
+        InventoryDTO inventory = inventoryService.getInventory(productId);
+        assertThat(inventory.available()).isEqualTo(7);
+        assertThat(inventory.reserved()).isZero();
+    }
+
+    @Test
+    void deletingTheProductDropsItsInventory() {
+        Long productId = createProduct();
+        inventoryService.setAvailable(productId, 10);
+        inventoryService.reserve(Map.of(productId, 2));
+
+        productService.deleteProduct(productId);
+        inventoryService.flush();
+
+        assertThat(inventoryRepository.findById(productId)).isEmpty();
+        assertThat(inventoryService.getInventory(productId).tracked()).isFalse();
+    }
+
+    private Long createProduct() {
+        Product product = new Product();
+        product.setName("Produto em promoção");
+        product.setPrice(Money.parse("9.90"));
+        return productRepository.save(product).getId();
+    }
+}
@@ -0,0 +1,120 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.danilo.sellora_commerce.dtos.OrderBatchResponse;
+import com.danilo.sellora_commerce.dtos.OrderBatchResult;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+
+@SpringBootTest(properties = "sellora.orders.batch.chunk-size=2")
+class OrderBatchTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> createdOrders = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(createdOrders);
+    }
+
+    @Test
+    void invalidOrdersAreReportedWithoutAbortingTheirChunk() {
+        User user = createUser();
+        Product mug = createProduct();
+        Product plate = createProduct();
+        inventoryService.setAvailable(mug.getId(), 10);
+        inventoryService.setAvailable(plate.getId(), 5);
+        User missing = new User();
+        missing.setId(Long.MAX_VALUE);
+
+        // lotes de 2: [válido, sem estoque do prato] e [válido, usuário inexistente]
+        OrderBatchResponse response = orderService.createOrders(List.of(
+                newOrder(user, Map.of(mug, 1)),
+                newOrder(user, Map.of(mug, 1, plate, 6)),
+                newOrder(user, Map.of(plate, 2)),
+                newOrder(missing, Map.of(mug, 3))));
+        response.results().stream().filter(OrderBatchResult::success).forEach(result -> createdOrders.add(result.orderId()));
+
+        assertThat(response.received()).isEqualTo(4);
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.results()).extracting(OrderBatchResult::index).containsExactly(0, 1, 2, 3);
+        assertThat(response.results()).extracting(OrderBatchResult::success).containsExactly(true, false, true, false);
+        assertThat(response.results().get(1).error()).contains("Estoque insuficiente");
+        assertThat(response.results().get(3).error()).contains("Usuário do pedido não encontrado");
+        assertThat(orderRepository.findAllById(createdOrders)).hasSize(2);
+
+        // a caneca reservada pelo pedido recusado no meio do lote volta ao estoque
+        assertThat(inventoryService.getInventory(mug.getId()).reserved()).isEqualTo(1);
+        assertThat(inventoryService.getInventory(mug.getId()).available()).isEqualTo(9);
+        assertThat(inventoryService.getInventory(plate.getId()).reserved()).isEqualTo(2);
+        assertThat(inventoryService.getInventory(plate.getId()).available()).isEqualTo(3);
+    }
+
+    private static Order newOrder(User user, Map<Product, Integer> quantities) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        new LinkedHashMap<>(quantities).forEach((product, quantity) -> {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            order.getOrderItems().add(item);
+        });
+        return order;
+    }
+
+    private Product createProduct() {
+        Product product = new Product();
+        product.setName("Produto");
+        product.setPrice(Money.parse("10.00"));
+        return productRepository.save(product);
+    }
+
+    private User createUser() {
+        long sequence = ThreadLocalRandom.current().nextLong(100_000_000_000L);
+        User user = new User();
+        user.setFullName("Cliente");
+        user.setUsername("cliente" + sequence);
+        user.setEmail("cliente" + sequence + "@email.com");
+        user.setPassword("secret");
+        user.setPhone("+55 " + sequence);
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument(String.format("%011d", sequence));
+        return userRepository.save(user);
+    }
+}
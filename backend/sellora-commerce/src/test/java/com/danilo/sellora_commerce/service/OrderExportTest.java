@@ -0,0 +1,127 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.danilo.sellora_commerce.dtos.OrderExportDTO;
+import com.danilo.sellora_commerce.dtos.OrderExportLine;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class OrderExportTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> createdOrders = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(createdOrders);
+    }
+
+    @Test
+    void exportGroupsItemsAndAppliesFilters() {
+        User user = createUser();
+        Product pen = createProduct("2.00");
+        Product ink = createProduct("5.00");
+        Order twoItems = createOrder(user, pen, ink);
+        Order canceled = createOrder(user, pen);
+        orderService.changeStatus(canceled.getId(), OrderStatus.CANCELED);
+        Order older = createOrder(user, ink);
+        older.setOrderDate(older.getOrderDate().minusDays(10));
+        orderRepository.save(older);
+
+        LocalDate today = LocalDate.now();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<OrderExportDTO> exported = new ArrayList<>();
+        orderService.forEachExportedOrder(today, today, Set.of(OrderStatus.PENDING), exported::add);
+
+        assertThat(exported).filteredOn(order -> createdOrders.contains(order.orderId()))
+                .singleElement()
+                .satisfies(order -> {
+                    assertThat(order.orderId()).isEqualTo(twoItems.getId());
+                    assertThat(order.username()).isEqualTo(user.getUsername());
+                    assertThat(order.items()).extracting(OrderExportDTO.Item::productId)
+                            .containsExactly(pen.getId(), ink.getId());
+                });
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        List<OrderExportLine> lines = new ArrayList<>();
+        orderService.forEachExportLine(today.minusDays(30), today, null, lines::add);
+        assertThat(lines).filteredOn(line -> createdOrders.contains(line.orderId()))
+                .extracting(OrderExportLine::orderId)
+                .containsExactly(twoItems.getId(), twoItems.getId(), canceled.getId(), older.getId());
+    }
+
+    private Order createOrder(User user, Product... products) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        for (Product product : products) {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            order.getOrderItems().add(item);
+        }
+        Order created = orderService.createOrder(order);
+        createdOrders.add(created.getId());
+        return created;
+    }
+
+    private Product createProduct(String price) {
+        Product product = new Product();
+        product.setName("Produto");
+        product.setPrice(Money.parse(price));
+        return productRepository.save(product);
+    }
+
+    private User createUser() {
+        long sequence = ThreadLocalRandom.current().nextLong(100_000_000_000L);
+        User user = new User();
+        user.setFullName("Cliente");
+        user.setUsername("cliente" + sequence);
+        user.setEmail("cliente" + sequence + "@email.com");
+        user.setPassword("secret");
+        user.setPhone("+55 " + sequence);
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument(String.format("%011d", sequence));
+        return userRepository.save(user);
+    }
+}
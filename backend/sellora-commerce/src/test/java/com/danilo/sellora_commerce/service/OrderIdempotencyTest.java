@@ -0,0 +1,214 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.danilo.sellora_commerce.exceptions.IdempotencyKeyMismatchException;
+import com.danilo.sellora_commerce.exceptions.InsufficientStockException;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.IdempotencyRecordRepository;
+import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderIdempotencyTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Product product;
+    private User user;
+    private final List<Long> createdOrders = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        product = createProduct();
+        user = createUser();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(createdOrders);
+    }
+
+    @Test
+    void retryReplaysTheStoredResponseWithoutTouchingTheDatabase() {
+        String key = UUID.randomUUID().toString();
+        long ordersBefore = orderRepository.count();
+
+        IdempotencyService.Result first = orderService.createOrder(newOrder(2), key);
+        long orderId = track(first);
+        assertThat(first.replayed()).isFalse();
+        assertThat(first.body()).contains("\"totalAmount\":20.00");
+
+        statistics.clear();
+        IdempotencyService.Result retry = orderService.createOrder(newOrder(2), key);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.body()).isEqualTo(first.body());
+
+        // após um reinício a resposta vem da tabela de chaves, ainda sem ler pedidos
+        idempotencyService.clearLocalCache();
+        statistics.clear();
+        IdempotencyService.Result afterRestart = orderService.createOrder(newOrder(2), key);
+        assertThat(afterRestart.body()).isEqualTo(first.body());
+        assertThat(statistics.getEntityStatistics(Order.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Order.class.getName()).getInsertCount()).isZero();
+
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+        assertThat(orderRepository.findById(orderId)).isPresent();
+    }
+
+    @Test
+    void reusingAKeyWithDifferentContentIsRejected() {
+        String key = UUID.randomUUID().toString();
+        track(orderService.createOrder(newOrder(1), key));
+
+        assertThatThrownBy(() -> orderService.createOrder(newOrder(3), key))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long ordersBefore = orderRepository.count();
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotencyService.Result>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            Callable<IdempotencyService.Result> call = () -> {
+                start.await();
+                return orderService.createOrder(newOrder(1), key);
+            };
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(call));
+            }
+            start.countDown();
+        }
+
+        long orderId = track(results.get(0).get());
+        int executed = 0;
+        for (Future<IdempotencyService.Result> result : results) {
+            assertThat(idOf(result.get())).isEqualTo(orderId);
+            executed += result.get().replayed() ? 0 : 1;
+        }
+        assertThat(executed).isEqualTo(1);
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+    }
+
+    @Test
+    void failedCreationReleasesTheKey() {
+        String key = UUID.randomUUID().toString();
+        inventoryService.setAvailable(product.getId(), 1);
+
+        assertThatThrownBy(() -> orderService.createOrder(newOrder(2), key))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(idempotencyRecordRepository.findById(key)).isEmpty();
+
+        inventoryService.setAvailable(product.getId(), 10);
+        IdempotencyService.Result retry = orderService.createOrder(newOrder(2), key);
+        track(retry);
+        assertThat(retry.replayed()).isFalse();
+    }
+
+    private long track(IdempotencyService.Result result) {
+        long id = idOf(result);
+        createdOrders.add(id);
+        return id;
+    }
+
+    private static long idOf(IdempotencyService.Result result) {
+        try {
+            return new ObjectMapper().readTree(result.body()).get("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Order newOrder(int quantity) {
+        Product reference = new Product();
+        reference.setId(product.getId());
+        OrderItem item = new OrderItem();
+        item.setProduct(reference);
+        item.setQuantity(quantity);
+
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.getOrderItems().add(item);
+        return order;
+    }
+
+    private Product createProduct() {
+        Product product = new Product();
+        product.setName("Produto");
+        product.setPrice(Money.parse("10.00"));
+        return productRepository.save(product);
+    }
+
+    private User createUser() {
+        long sequence = ThreadLocalRandom.current().nextLong(100_000_000_000L);
+        User user = new User();
+        user.setFullName("Cliente");
+        user.setUsername("cliente" + sequence);
+        user.setEmail("cliente" + sequence + "@email.com");
+        user.setPassword("secret");
+        user.setPhone("+55 " + sequence);
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument(String.format("%011d", sequence));
+        return userRepository.save(user);
+    }
+}
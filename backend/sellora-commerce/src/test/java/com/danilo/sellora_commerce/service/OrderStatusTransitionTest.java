@@ -0,0 +1,265 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.danilo.sellora_commerce.dtos.OrderStatusDTO;
+import com.danilo.sellora_commerce.exceptions.InvalidStatusTransitionException;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.OutboxEvent;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.OutboxEventRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.repositories.StockMovementRecordRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+
+@SpringBootTest
+class OrderStatusTransitionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OrderStockHandler orderStockHandler;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StockMovementRecordRepository stockMovementRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> createdOrders = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(createdOrders);
+    }
+
+    @Test
+    void invalidTransitionsAreRejected() {
+        Order order = createOrder(null, 1);
+
+        assertThatThrownBy(() -> orderService.changeStatus(order.getId(), OrderStatus.SHIPPED))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+        orderService.changeStatus(order.getId(), OrderStatus.CANCELED);
+        assertThatThrownBy(() -> orderService.changeStatus(order.getId(), OrderStatus.PROCESSING))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+        assertThat(orderRepository.findById(order.getId())).get()
+                .extracting(Order::getStatus).isEqualTo(OrderStatus.CANCELED);
+    }
+
+    @Test
+    void cancelReleasesStockThroughTheOutbox() {
+        Product product = createProduct();
+        inventoryService.setAvailable(product.getId(), 10);
+        Order order = orderService.createOrder(newOrder(product, 3));
+        createdOrders.add(order.getId());
+        assertThat(inventoryService.getInventory(product.getId()).reserved()).isEqualTo(3);
+
+        OrderStatusDTO result = orderService.changeStatus(order.getId(), OrderStatus.PROCESSING);
+        assertThat(result.nextStatuses()).containsExactlyInAnyOrder(OrderStatus.SHIPPED, OrderStatus.CANCELED);
+        orderService.changeStatus(order.getId(), OrderStatus.CANCELED);
+
+        // A requisição só grava o evento; o estoque muda quando o outbox é processado
+        // (nos testes o dispatcher agendado fica parado, veja o surefire no pom.xml)
+        assertThat(inventoryService.getInventory(product.getId()).reserved()).isEqualTo(3);
+        outboxDispatcher.dispatchPending();
+        assertThat(inventoryService.getInventory(product.getId()).reserved()).isZero();
+        assertThat(inventoryService.getInventory(product.getId()).available()).isEqualTo(10);
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getAggregateId().equals(order.getId()))
+                .hasSize(2)
+                .allSatisfy(event -> assertThat(event.getProcessedAt()).isNotNull());
+    }
+
+    @Test
+    void stockMovesOnlyOnceWhenTheDispatchIsRolledBackOrRedelivered() {
+        Product product = createProduct();
+        inventoryService.setAvailable(product.getId(), 10);
+        Order canceled = orderService.createOrder(newOrder(product, 3));
+        createdOrders.add(canceled.getId());
+        createdOrders.add(orderService.createOrder(newOrder(product, 2)).getId());
+        outboxDispatcher.dispatchPending();
+        orderService.changeStatus(canceled.getId(), OrderStatus.CANCELED);
+
+        OutboxEvent event = outboxEventRepository.findAll().stream()
+                .filter(candidate -> candidate.getAggregateId().equals(canceled.getId()))
+                .filter(candidate -> candidate.getPayload().contains("\"status\":\"CANCELED\""))
+                .findFirst()
+                .orElseThrow();
+
+        // transação do evento desfeita: nada do que o handler fez é aplicado
+        transactionTemplate.executeWithoutResult(tx -> {
+            try {
+                orderStockHandler.handle(event);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            tx.setRollbackOnly();
+        });
+        assertThat(inventoryService.getInventory(product.getId()).reserved()).isEqualTo(5);
+
+        outboxDispatcher.dispatchPending();
+        assertThat(inventoryService.getInventory(product.getId()).reserved()).isEqualTo(2);
+        assertThat(stockMovementRecordRepository.findAll())
+                .filteredOn(movement -> movement.getOrderId().equals(canceled.getId()))
+                .hasSize(1);
+
+        // nova entrega do mesmo evento: o movimento já registrado não é aplicado de novo
+        event.setProcessedAt(null);
+        outboxEventRepository.save(event);
+        outboxDispatcher.dispatchPending();
+        assertThat(inventoryService.getInventory(product.getId()).reserved()).isEqualTo(2);
+        assertThat(inventoryService.getInventory(product.getId()).available()).isEqualTo(8);
+    }
+
+    @Test
+    void concurrentTransitionsFromTheSameStatusHaveOneWinner() throws Exception {
+        Order order = createOrder(null, 1);
+        orderService.changeStatus(order.getId(), OrderStatus.PROCESSING);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<OrderStatus> targets = List.of(OrderStatus.SHIPPED, OrderStatus.CANCELED);
+        for (int i = 0; i < 16; i++) {
+            OrderStatus target = targets.get(i % 2);
+            executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.changeStatus(order.getId(), target);
+                    succeeded.incrementAndGet();
+                } catch (InvalidStatusTransitionException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(succeeded).hasValue(1);
+        assertThat(rejected).hasValue(15);
+        long events = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals(order.getId()))
+                .count();
+        assertThat(events).isEqualTo(2);
+    }
+
+    @Test
+    void statusChangeIsRejectedWhenTheItemsChangedSinceTheRead() {
+        Product first = createProduct();
+        Product second = createProduct();
+        Order order = orderService.createOrder(newOrder(first, 1));
+        createdOrders.add(order.getId());
+        Long readVersion = order.getVersion();
+
+        // mesmo preço: o total não muda, só os itens
+        Order change = new Order();
+        change.setUser(order.getUser());
+        change.setVersion(readVersion);
+        change.getOrderItems().add(item(second, 1));
+        Order updated = orderService.updateOrder(order.getId(), change);
+        assertThat(updated.getVersion()).isGreaterThan(readVersion);
+
+        Integer rows = transactionTemplate.execute(tx -> orderRepository.updateStatus(
+                order.getId(), OrderStatus.PENDING, readVersion, OrderStatus.CANCELED, Instant.now()));
+        assertThat(rows).isZero();
+        assertThat(orderRepository.findStatusById(order.getId())).contains(OrderStatus.PENDING);
+    }
+
+    @Test
+    void largePayloadsAreStored() {
+        String payload = "{\"items\":\"" + "x".repeat(20_000) + "\"}";
+        OutboxEvent event = outboxEventRepository.save(new OutboxEvent("LargePayload", 0L, payload));
+        try {
+            assertThat(outboxEventRepository.findById(event.getId())).get()
+                    .extracting(OutboxEvent::getPayload).isEqualTo(payload);
+        } finally {
+            outboxEventRepository.delete(event);
+        }
+    }
+
+    private Order createOrder(Product product, int quantity) {
+        Order order = orderService.createOrder(newOrder(product != null ? product : createProduct(), quantity));
+        createdOrders.add(order.getId());
+        return order;
+    }
+
+    private Order newOrder(Product product, int quantity) {
+        Order order = new Order();
+        order.setUser(createUser());
+        order.setStatus(OrderStatus.PENDING);
+        order.getOrderItems().add(item(product, quantity));
+        return order;
+    }
+
+    private static OrderItem item(Product product, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private Product createProduct() {
+        Product product = new Product();
+        product.setName("Produto");
+        product.setPrice(Money.parse("10.00"));
+        return productRepository.save(product);
+    }
+
+    private User createUser() {
+        long sequence = ThreadLocalRandom.current().nextLong(100_000_000_000L);
+        User user = new User();
+        user.setFullName("Cliente");
+        user.setUsername("cliente" + sequence);
+        user.setEmail("cliente" + sequence + "@email.com");
+        user.setPassword("secret");
+        user.setPhone("+55 " + sequence);
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument(String.format("%011d", sequence));
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,160 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.danilo.sellora_commerce.exceptions.OrderPreconditionFailedException;
+import com.danilo.sellora_commerce.exceptions.OrderPreconditionRequiredException;
+import com.danilo.sellora_commerce.exceptions.OrderVersionConflictException;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class OrderUpdateTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> createdOrders = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(createdOrders);
+    }
+
+    @Test
+    void changingOneQuantityWritesOnlyThatLine() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(createProduct());
+        }
+        User user = createUser();
+        Order order = orderService.createOrder(newOrder(user, products, 1));
+        createdOrders.add(order.getId());
+        List<Long> itemIds = order.getOrderItems().stream().map(OrderItem::getId).toList();
+
+        Order change = newOrder(user, products, 1);
+        change.getOrderItems().get(2).setQuantity(4);
+        change.setVersion(order.getVersion());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Order updated = orderService.updateOrder(order.getId(), change);
+
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        // a linha alterada e o próprio pedido (total e versão)
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(updated.getVersion()).isEqualTo(order.getVersion() + 1);
+        assertThat(updated.getTotalAmount()).isEqualTo(Money.parse("160.00"));
+        assertThat(orderService.getOrderById(order.getId()).getOrderItems())
+                .extracting(OrderItem::getId).containsExactlyInAnyOrderElementsOf(itemIds);
+    }
+
+    @Test
+    void staleUpdatesAreRejected() {
+        User user = createUser();
+        List<Product> products = List.of(createProduct(), createProduct());
+        Order order = orderService.createOrder(newOrder(user, products, 1));
+        createdOrders.add(order.getId());
+
+        Order first = newOrder(user, products, 2);
+        first.setVersion(order.getVersion());
+        orderService.updateOrder(order.getId(), first);
+
+        Order second = newOrder(user, products.subList(0, 1), 3);
+        second.setVersion(order.getVersion());
+        assertThatThrownBy(() -> orderService.updateOrder(order.getId(), second))
+                .isInstanceOf(OrderVersionConflictException.class);
+
+        // versão já lida quando outra transação grava no meio: o @Version barra ao gravar
+        Order loaded = orderService.getOrderById(order.getId());
+        orderService.changeStatus(order.getId(), OrderStatus.PROCESSING);
+        assertThatThrownBy(() -> orderRepository.save(loaded))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(orderService.getOrderById(order.getId()).getTotalAmount()).isEqualTo(Money.parse("80.00"));
+    }
+
+    @Test
+    void updatesMustCarryTheVersionReadInTheBodyOrIfMatch() {
+        User user = createUser();
+        List<Product> products = List.of(createProduct());
+        Order order = orderService.createOrder(newOrder(user, products, 1));
+        createdOrders.add(order.getId());
+
+        assertThatThrownBy(() -> orderService.updateOrder(order.getId(), newOrder(user, products, 2)))
+                .isInstanceOf(OrderPreconditionRequiredException.class);
+
+        String etag = OrderService.versionOf(orderService.getOrderById(order.getId())).etag("order");
+        orderService.updateOrder(order.getId(), newOrder(user, products, 2), etag);
+        assertThatThrownBy(() -> orderService.updateOrder(order.getId(), newOrder(user, products, 3), etag))
+                .isInstanceOf(OrderPreconditionFailedException.class);
+        assertThat(orderService.getOrderById(order.getId()).getTotalAmount()).isEqualTo(Money.parse("40.00"));
+    }
+
+    private static Order newOrder(User user, List<Product> products, int quantity) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        for (Product product : products) {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            order.getOrderItems().add(item);
+        }
+        return order;
+    }
+
+    private Product createProduct() {
+        Product product = new Product();
+        product.setName("Produto");
+        product.setPrice(Money.parse("20.00"));
+        return productRepository.save(product);
+    }
+
+    private User createUser() {
+        long sequence = ThreadLocalRandom.current().nextLong(100_000_000_000L);
+        User user = new User();
+        user.setFullName("Cliente");
+        user.setUsername("cliente" + sequence);
+        user.setEmail("cliente" + sequence + "@email.com");
+        user.setPassword("secret");
+        user.setPhone("+55 " + sequence);
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument(String.format("%011d", sequence));
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,126 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.danilo.sellora_commerce.model.OutboxEvent;
+import com.danilo.sellora_commerce.repositories.OutboxEventRepository;
+
+@SpringBootTest
+class OutboxDispatcherTest {
+
+    private static final String RECORDED = "OutboxTest.Recorded";
+    private static final String FAILING = "OutboxTest.Failing";
+    private static final String SIDE_EFFECT = "OutboxTest.SideEffect";
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingHandler recordingHandler;
+
+    @TestConfiguration
+    static class Handlers {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+
+        @Bean
+        FailingHandler failingHandler(OutboxEventRepository outboxEventRepository) {
+            return new FailingHandler(outboxEventRepository);
+        }
+    }
+
+    static class RecordingHandler implements OutboxEventHandler {
+
+        private final Set<Long> handled = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String eventType() {
+            return RECORDED;
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            handled.add(event.getId());
+        }
+    }
+
+    /**
+     * Grava algo na transação do evento e falha, como um handler que participa da transação do dispatcher.
+     */
+    static class FailingHandler implements OutboxEventHandler {
+
+        private final OutboxEventRepository outboxEventRepository;
+
+        FailingHandler(OutboxEventRepository outboxEventRepository) {
+            this.outboxEventRepository = outboxEventRepository;
+        }
+
+        @Override
+        public String eventType() {
+            return FAILING;
+        }
+
+        @Override
+        @Transactional(propagation = Propagation.MANDATORY)
+        public void handle(OutboxEvent event) {
+            outboxEventRepository.save(new OutboxEvent(SIDE_EFFECT, event.getId(), "{}"));
+            throw new IllegalStateException("falha no handler");
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAll(outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType().startsWith("OutboxTest."))
+                .toList());
+    }
+
+    @Test
+    void failingHandlerDoesNotUndoTheRestOfTheBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(tx -> List.of(
+                outboxEventRepository.save(new OutboxEvent(RECORDED, 1L, "{}")),
+                outboxEventRepository.save(new OutboxEvent(FAILING, 2L, "{}")),
+                outboxEventRepository.save(new OutboxEvent(RECORDED, 3L, "{}"))));
+        Long failing = events.get(1).getId();
+
+        outboxDispatcher.dispatchPending();
+
+        assertThat(recordingHandler.handled).contains(events.get(0).getId(), events.get(2).getId());
+        assertThat(outboxEventRepository.findAllById(List.of(events.get(0).getId(), events.get(2).getId())))
+                .allSatisfy(event -> assertThat(event.getProcessedAt()).isNotNull());
+        assertThat(outboxEventRepository.findById(failing)).get().satisfies(event -> {
+            assertThat(event.getProcessedAt()).isNull();
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getLastError()).contains("falha no handler");
+        });
+        // o que o handler gravou antes de falhar foi desfeito com a transação do evento
+        assertThat(outboxEventRepository.findAll()).noneMatch(event -> event.getEventType().equals(SIDE_EFFECT));
+
+        outboxDispatcher.dispatchPending();
+        assertThat(outboxEventRepository.findById(failing)).get()
+                .extracting(OutboxEvent::getAttempts).isEqualTo(2);
+    }
+}
@@ -0,0 +1,79 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.danilo.sellora_commerce.dtos.ProductImportError;
+import com.danilo.sellora_commerce.dtos.ProductImportResponse;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Product;
+
+@SpringBootTest(properties = "sellora.products.import.chunk-size=2")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Test
+    void csvRowsAreUpsertedAndInvalidRowsReported() throws Exception {
+        String tag = "imp" + UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        Product existing = new Product();
+        existing.setName("Antigo");
+        existing.setPrice(Money.parse("1.00"));
+        existing = productService.createProduct(existing);
+        productService.getProductById(existing.getId());
+
+        String csv = "id,name,price,description,imageUrl\n"
+                + ",Caneca " + tag + ",19.90,\"Cerâmica, 300 ml\",\n"
+                + ",Sem preço,,,\n"
+                + ",Preço longo,123456789.00,,\n"
+                + existing.getId() + ",Atualizado " + tag + ",2.50,,https://img/1.jpg\n"
+                + "999999999,Não existe,1.00,,\n"
+                + "," + "x".repeat(300) + ",1.00,,\n"
+                + ",Prato " + tag + ",7,," + "\n";
+        ProductImportResponse response = productImportService.importCsv(stream(csv));
+
+        assertThat(response.received()).isEqualTo(7);
+        assertThat(response.inserted()).isEqualTo(2);
+        assertThat(response.updated()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(4);
+        assertThat(response.errors()).extracting(ProductImportError::row).containsExactlyInAnyOrder(2L, 3L, 5L, 6L);
+
+        Product updated = productService.getProductById(existing.getId());
+        assertThat(updated.getName()).isEqualTo("Atualizado " + tag);
+        assertThat(updated.getVersion()).isEqualTo(existing.getVersion() + 1);
+        assertThat(productSearchService.search(tag, 10)).extracting(Product::getName)
+                .containsExactlyInAnyOrder("Caneca " + tag, "Atualizado " + tag, "Prato " + tag);
+    }
+
+    @Test
+    void malformedJsonLinesDoNotStopTheImport() throws Exception {
+        String ndjson = "{\"name\":\"Lápis\",\"price\":1.5}\n"
+                + "\n"
+                + "{\"name\":\"quebrado\",\n"
+                + "{\"name\":\"Borracha\",\"price\":\"0.75\",\"version\":3}\n";
+        ProductImportResponse response = productImportService.importNdjson(stream(ndjson));
+
+        assertThat(response.received()).isEqualTo(3);
+        assertThat(response.inserted()).isEqualTo(2);
+        assertThat(response.errors()).singleElement()
+                .satisfies(error -> assertThat(error.row()).isEqualTo(2));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Product;
+
+@SpringBootTest
+class ProductSearchServiceTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void nameHitsRankAboveDescriptionHits() {
+        String term = tag();
+        Product inDescription = createProduct("Caneca", "Caneca de cerâmica " + term);
+        Product inName = createProduct("Camiseta " + term, "Algodão");
+
+        assertThat(productSearchService.searchIds(term, 10)).containsExactly(inName.getId(), inDescription.getId());
+        assertThat(productSearchService.search(term, 1)).extracting(Product::getId).containsExactly(inName.getId());
+    }
+
+    @Test
+    void updatesAreReindexedAndDeletesRemoved() {
+        String before = tag();
+        String after = tag();
+        Product product = createProduct("Mochila " + before, null);
+        assertThat(productSearchService.searchIds(before, 10)).containsExactly(product.getId());
+
+        product.setName("Mochila " + after);
+        productService.updateProduct(product.getId(), product);
+        assertThat(productSearchService.searchIds(before, 10)).isEmpty();
+        assertThat(productSearchService.searchIds(after, 10)).containsExactly(product.getId());
+
+        productService.deleteProduct(product.getId());
+        assertThat(productSearchService.searchIds(after, 10)).isEmpty();
+    }
+
+    @Test
+    void tokensIgnoreAccentsCaseAndStopWords() {
+        assertThat(ProductSearchService.tokenize("Camisa de Algodão com Botões, ÇÃO-2"))
+                .containsExactly("camisa", "algodao", "botoes", "cao", "2");
+
+        String term = tag();
+        Product product = createProduct("Pão " + term, null);
+        assertThat(productSearchService.searchIds("pao " + term, 10)).containsExactly(product.getId());
+        assertThat(productSearchService.searchIds("PÃO DE " + term.toUpperCase(), 10)).containsExactly(product.getId());
+    }
+
+    @Test
+    void lastTermAlsoMatchesByPrefix() {
+        String term = tag();
+        Product product = createProduct("Luminária " + term, null);
+
+        assertThat(productSearchService.searchIds(term.substring(0, term.length() - 3), 10)).containsExactly(product.getId());
+    }
+
+    @Test
+    void suggestionsStartWithThePrefixMostFrequentFirst() {
+        String prefix = tag();
+        createProduct(prefix + "beta", null);
+        createProduct(prefix + "beta", "Outro " + prefix + "alfa");
+        createProduct(prefix + "beta gama", null);
+
+        assertThat(productSearchService.suggest(prefix, 10)).containsExactly(prefix + "beta", prefix + "alfa");
+        assertThat(productSearchService.suggest("Produto " + prefix.toUpperCase(), 1)).containsExactly(prefix + "beta");
+    }
+
+    @Test
+    void emptyQueriesReturnNothing() {
+        assertThat(productSearchService.searchIds("", 10)).isEmpty();
+        assertThat(productSearchService.searchIds(null, 10)).isEmpty();
+        assertThat(productSearchService.searchIds(" de com para ", 10)).isEmpty();
+        assertThat(productSearchService.suggest("  ", 10)).isEmpty();
+    }
+
+    /**
+     * Termo único por teste: o índice é compartilhado com os produtos criados pelos outros testes.
+     */
+    private static String tag() {
+        return "t" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+
+    private Product createProduct(String name, String description) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription(description);
+        product.setPrice(Money.parse("10.00"));
+        return productService.createProduct(product);
+    }
+}
@@ -0,0 +1,166 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.danilo.sellora_commerce.dtos.DailySalesDTO;
+import com.danilo.sellora_commerce.dtos.OrderBatchResult;
+import com.danilo.sellora_commerce.dtos.ProductSalesDTO;
+import com.danilo.sellora_commerce.model.Money;
+import com.danilo.sellora_commerce.model.Order;
+import com.danilo.sellora_commerce.model.OrderItem;
+import com.danilo.sellora_commerce.model.Product;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.OrderStatus;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.OrderRepository;
+import com.danilo.sellora_commerce.repositories.ProductRepository;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+
+@SpringBootTest
+class SalesReportServiceTest {
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> createdOrders = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(createdOrders);
+    }
+
+    @Test
+    void rollupsFollowOrderChangesAndMatchRebuild() {
+        LocalDate today = LocalDate.now();
+        User user = createUser();
+        Product shirt = createProduct("10.00");
+        Product socks = createProduct("5.00");
+        long pendingBefore = ordersToday(OrderStatus.PENDING);
+        long canceledBefore = ordersToday(OrderStatus.CANCELED);
+
+        Order first = create(newOrder(user, Map.of(shirt, 2, socks, 1)));
+        Order second = create(newOrder(user, Map.of(shirt, 1)));
+        List<OrderBatchResult> batch = orderService.createOrders(List.of(
+                newOrder(user, Map.of(socks, 3)), newOrder(user, Map.of(socks, 1)))).results();
+        batch.forEach(result -> createdOrders.add(result.orderId()));
+
+        assertSales(shirt, 3, "30.00");
+        assertSales(socks, 5, "25.00");
+        assertThat(ordersToday(OrderStatus.PENDING)).isEqualTo(pendingBefore + 4);
+
+        Order change = newOrder(user, Map.of(shirt, 1));
+        change.setVersion(first.getVersion());
+        orderService.updateOrder(first.getId(), change);
+        assertSales(shirt, 2, "20.00");
+        assertSales(socks, 4, "20.00");
+
+        orderService.changeStatus(second.getId(), OrderStatus.CANCELED);
+        assertSales(shirt, 1, "10.00");
+        assertThat(ordersToday(OrderStatus.PENDING)).isEqualTo(pendingBefore + 3);
+        assertThat(ordersToday(OrderStatus.CANCELED)).isEqualTo(canceledBefore + 1);
+
+        List<ProductSalesDTO> incremental = productSales(shirt, socks);
+        salesReportService.rebuild();
+        assertThat(productSales(shirt, socks)).isEqualTo(incremental);
+
+        // a reconstrução também descarta o que outros testes apagaram direto no repositório
+        long pendingRebuilt = ordersToday(OrderStatus.PENDING);
+        orderService.deleteOrder(first.getId());
+        createdOrders.remove(first.getId());
+        assertSales(shirt, 0, "0.00");
+        assertThat(salesReportService.getDailySales(today, today)).singleElement()
+                .satisfies(day -> assertThat(day.ordersByStatus()).containsEntry(OrderStatus.PENDING, pendingRebuilt - 1));
+    }
+
+    private void assertSales(Product product, long units, String revenue) {
+        List<ProductSalesDTO> sales = productSales(product);
+        if (units == 0) {
+            assertThat(sales).allSatisfy(line -> assertThat(line.units()).isZero());
+            return;
+        }
+        assertThat(sales).singleElement().satisfies(line -> {
+            assertThat(line.units()).isEqualTo(units);
+            assertThat(line.revenue()).isEqualByComparingTo(revenue);
+        });
+    }
+
+    private List<ProductSalesDTO> productSales(Product... products) {
+        Set<Long> ids = Set.of(products).stream().map(Product::getId).collect(Collectors.toSet());
+        LocalDate today = LocalDate.now();
+        return salesReportService.getTopProducts(today, today, 1000).stream()
+                .filter(line -> ids.contains(line.productId()))
+                .toList();
+    }
+
+    private long ordersToday(OrderStatus status) {
+        LocalDate today = LocalDate.now();
+        return salesReportService.getDailySales(today, today).stream()
+                .map(DailySalesDTO::ordersByStatus)
+                .mapToLong(byStatus -> byStatus.getOrDefault(status, 0L))
+                .sum();
+    }
+
+    private Order create(Order order) {
+        Order created = orderService.createOrder(order);
+        createdOrders.add(created.getId());
+        return created;
+    }
+
+    private static Order newOrder(User user, Map<Product, Integer> quantities) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        quantities.forEach((product, quantity) -> {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            order.getOrderItems().add(item);
+        });
+        return order;
+    }
+
+    private Product createProduct(String price) {
+        Product product = new Product();
+        product.setName("Produto");
+        product.setPrice(Money.parse(price));
+        return productRepository.save(product);
+    }
+
+    private User createUser() {
+        long sequence = ThreadLocalRandom.current().nextLong(100_000_000_000L);
+        User user = new User();
+        user.setFullName("Cliente");
+        user.setUsername("cliente" + sequence);
+        user.setEmail("cliente" + sequence + "@email.com");
+        user.setPassword("secret");
+        user.setPhone("+55 " + sequence);
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument(String.format("%011d", sequence));
+        return userRepository.save(user);
+    }
+}
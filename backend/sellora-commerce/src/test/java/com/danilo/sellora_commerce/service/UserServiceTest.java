@@ -0,0 +1,202 @@
+package com.danilo.sellora_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.danilo.sellora_commerce.dtos.CursorPage;
+import com.danilo.sellora_commerce.dtos.UserDTO;
+import com.danilo.sellora_commerce.dtos.UserStatsDTO;
+import com.danilo.sellora_commerce.exceptions.DuplicateUserException;
+import com.danilo.sellora_commerce.exceptions.UserNotFoundException;
+import com.danilo.sellora_commerce.model.User;
+import com.danilo.sellora_commerce.model.enums.UserType;
+import com.danilo.sellora_commerce.repositories.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class UserServiceTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(ThreadLocalRandom.current().nextLong(1_000_000_000L));
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void concurrentRegistrationsKeepKeysUnique() throws Exception {
+        String run = "r" + next();
+        int distinctUsernames = 20;
+        int attemptsPerUsername = 5;
+
+        Queue<User> created = new ConcurrentLinkedQueue<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < distinctUsernames * attemptsPerUsername; i++) {
+            String username = run + "-user" + (i % distinctUsernames);
+            // metade das tentativas repete também o e-mail do mesmo username
+            String email = username + (i % 2 == 0 ? "" : "-" + i) + "@email.com";
+            executor.submit(() -> {
+                start.await();
+                try {
+                    created.add(userService.save(newUser(username, email)));
+                } catch (DuplicateUserException e) {
+                    duplicates.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(created).hasSize(distinctUsernames);
+        assertThat(duplicates).hasValue(distinctUsernames * (attemptsPerUsername - 1));
+        List<User> stored = userRepository.findAll().stream()
+                .filter(user -> user.getUsername().startsWith(run + "-"))
+                .toList();
+        assertThat(stored).hasSize(distinctUsernames);
+        for (User user : created) {
+            assertThat(userService.findByUsername(user.getUsername()).getId()).isEqualTo(user.getId());
+            assertThat(userService.findByEmail(user.getEmail()).getId()).isEqualTo(user.getId());
+            assertThat(userService.findByDocument(user.getDocument()).getId()).isEqualTo(user.getId());
+        }
+    }
+
+    @Test
+    void indexFollowsUpdatesAndDeletes() {
+        String username = "u" + next();
+        User user = userService.save(newUser(username, username + "@email.com"));
+
+        assertThat(userService.checkAvailability(username, null, null).usernameAvailable()).isFalse();
+        assertThatThrownBy(() -> userService.save(newUser(username, "other" + next() + "@email.com")))
+                .isInstanceOf(DuplicateUserException.class);
+
+        User change = newUser(username, username + "-new@email.com");
+        change.setId(user.getId());
+        userService.update(user.getId(), change);
+        assertThat(userService.checkAvailability(null, username + "@email.com", null).emailAvailable()).isTrue();
+        assertThat(userService.findByEmail(username + "-new@email.com").getId()).isEqualTo(user.getId());
+        assertThatThrownBy(() -> userService.findByEmail(username + "@email.com"))
+                .isInstanceOf(UserNotFoundException.class);
+
+        userService.delete(user.getId());
+        assertThat(userService.checkAvailability(username, null, user.getDocument()))
+                .satisfies(availability -> {
+                    assertThat(availability.usernameAvailable()).isTrue();
+                    assertThat(availability.documentAvailable()).isTrue();
+                });
+        assertThatThrownBy(() -> userService.findByUsername(username)).isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void staleEntriesAreCorrected() {
+        String username = "s" + next();
+        User user = userService.save(newUser(username, username + "@email.com"));
+        // apagado por fora do serviço: o índice ainda aponta para o usuário
+        userRepository.deleteById(user.getId());
+
+        assertThatThrownBy(() -> userService.findByUsername(username)).isInstanceOf(UserNotFoundException.class);
+        User again = userService.save(newUser(username, username + "@email.com"));
+        assertThat(userService.findByUsername(username).getId()).isEqualTo(again.getId());
+    }
+
+    @Test
+    void usersUnknownToTheIndexAreFoundInTheDatabase() {
+        String username = "x" + next();
+        // gravado sem passar pelo serviço, como faria outra instância da aplicação
+        User user = userRepository.save(newUser(username, username + "@email.com"));
+
+        assertThat(userService.findByUsername(username).getId()).isEqualTo(user.getId());
+        assertThat(userService.findByDocument(user.getDocument()).getId()).isEqualTo(user.getId());
+        assertThat(userService.checkAvailability(username, username + "@email.com", null))
+                .satisfies(availability -> {
+                    assertThat(availability.usernameAvailable()).isFalse();
+                    assertThat(availability.emailAvailable()).isFalse();
+                });
+    }
+
+    @Test
+    void listingPagesAndStreamsWithoutLoadingEntities() {
+        for (int i = 0; i < 5; i++) {
+            String username = "p" + next();
+            userService.save(newUser(username, username + "@email.com"));
+        }
+        long total = userRepository.count();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long loadsBefore = statistics.getEntityLoadCount();
+
+        List<UserDTO> paged = new ArrayList<>();
+        CursorPage<UserDTO> page = userService.findPage(null, 2);
+        paged.addAll(page.content());
+        while (page.hasNext()) {
+            page = userService.findPage(page.nextCursor(), 2);
+            paged.addAll(page.content());
+        }
+        List<UserDTO> streamed = new ArrayList<>();
+        userService.forEachUser(streamed::add);
+
+        assertThat(paged).hasSize((int) total).isEqualTo(streamed);
+        assertThat(paged).extracting(UserDTO::id).isSorted();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(loadsBefore);
+    }
+
+    @Test
+    void statsCountEveryUserByType() {
+        UserStatsDTO before = userService.getStats();
+        for (UserType type : List.of(UserType.CUSTOMER, UserType.CUSTOMER, UserType.SELLER)) {
+            String username = "s" + next();
+            User user = newUser(username, username + "@email.com");
+            user.setUserType(type);
+            userService.save(user);
+        }
+
+        UserStatsDTO after = userService.getStats();
+        assertThat(after.total()).isEqualTo(before.total() + 3).isEqualTo(userRepository.count());
+        assertThat(after.byUserType()).containsOnlyKeys(UserType.values());
+        assertThat(after.byUserType().get(UserType.CUSTOMER)).isEqualTo(before.byUserType().get(UserType.CUSTOMER) + 2);
+        assertThat(after.byUserType().get(UserType.SELLER)).isEqualTo(before.byUserType().get(UserType.SELLER) + 1);
+        assertThat(after.byUserType().get(UserType.ADMIN)).isEqualTo(before.byUserType().get(UserType.ADMIN));
+    }
+
+    private static long next() {
+        return SEQUENCE.incrementAndGet();
+    }
+
+    private static User newUser(String username, String email) {
+        long sequence = next();
+        User user = new User();
+        user.setFullName("Test User");
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setPhone("+55 11 " + sequence);
+        user.setUserType(UserType.CUSTOMER);
+        user.setDocument(String.format("%011d", sequence % 100_000_000_000L));
+        return user;
+    }
+}
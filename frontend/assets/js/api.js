@@ -1,5 +1,7 @@
 // API Configuration
 const API_BASE_URL = 'http://localhost:8080';
+// Maximum page size accepted by GET /users
+const USERS_PAGE_SIZE = 500;
 
 /**
  * Validates a Brazilian CPF (individual taxpayer ID)
@@ -654,17 +656,33 @@ async function deleteUser(userId) {
     }
 }
 
+/**
+ * Fetches every user, following the X-Next-Cursor header page by page
+ * (GET /users returns one page at a time)
+ * @returns {Promise<Array>} All users ordered by ID
+ */
+async function fetchAllUsers() {
+    const users = [];
+    let url = `${API_BASE_URL}/users?size=${USERS_PAGE_SIZE}`;
+    while (url) {
+        const response = await fetch(url);
+        if (!response.ok) {
+            throw new Error('Error fetching users');
+        }
+        users.push(...await response.json());
+        const nextCursor = response.headers.get('X-Next-Cursor');
+        url = nextCursor ? `${API_BASE_URL}/users?size=${USERS_PAGE_SIZE}&after=${encodeURIComponent(nextCursor)}` : null;
+    }
+    return users;
+}
+
 /**
  * Fetches all users from the API
  */
 async function fetchUsers() {
     showLoading();
     try {
-        const response = await fetch(`${API_BASE_URL}/users`);
-        if (!response.ok) {
-            throw new Error('Error fetching users');
-        }
-        const users = await response.json();
+        const users = await fetchAllUsers();
         displayUsers(users);
     } catch (error) {
         console.error('Error:', error);
@@ -71,61 +71,29 @@ function createStatisticsPanel() {
     alertsElement.parentNode.insertBefore(statisticsPanel,  alertsElement.nextSibling);
 }
 
-// Função para atualizar as estatísticas com base nos usuários exibidos na tabela
+// Função para atualizar as estatísticas; a tabela pode mostrar só parte dos usuários, então as contagens vêm da API
 function updateStatistics() {
-    // Contar usuários na tabela
-    const userRows = document.querySelectorAll('#userTableBody tr');
-    const totalUsers = userRows.length;
-    
-    // Inicializar contadores para cada tipo de usuário
-    let customers = 0;
-    let sellers = 0;
-    let admins = 0;
-    
-    // Contar cada tipo de usuário
-    userRows.forEach(row => {
-        const userType = row.cells[5].textContent.trim();
-        
-        if (userType === 'Cliente') {
-            customers++;
-        } else if (userType === 'Vendedor') {
-            sellers++;
-        } else if (userType === 'Administrador') {
-            admins++;
-        }
-    });
-    
-    // Atualizar os elementos do DOM com as contagens
-    document.getElementById('totalUsers').textContent = totalUsers;
-    document.getElementById('totalCustomers').textContent = customers;
-    document.getElementById('totalSellers').textContent = sellers;
-    document.getElementById('totalAdmins').textContent = admins;
+    fetchCompleteStatistics();
 }
 
 // Função para obter estatísticas completas de todos os usuários do sistema, não apenas os exibidos
 async function fetchCompleteStatistics() {
     try {
-        const response = await fetch(`${API_BASE_URL}/users`);
+        // GET /users/stats conta no servidor: a listagem em /users é paginada
+        const response = await fetch(`${API_BASE_URL}/users/stats`);
         if (!response.ok) {
-            throw new Error('Erro ao buscar usuários para estatísticas');
+            throw new Error('Erro ao buscar estatísticas dos usuários');
         }
         
-        const users = await response.json();
-        
-        // Contar por tipo de usuário
-        let totalUsers = users.length;
-        let customers = users.filter(user => user.userType === 'CUSTOMER').length;
-        let sellers = users.filter(user => user.userType === 'SELLER').length;
-        let admins = users.filter(user => user.userType === 'ADMIN').length;
+        const stats = await response.json();
         
         // Atualizar os elementos do DOM com as contagens
-        document.getElementById('totalUsers').textContent = totalUsers;
-        document.getElementById('totalCustomers').textContent = customers;
-        document.getElementById('totalSellers').textContent = sellers;
-        document.getElementById('totalAdmins').textContent = admins;
+        document.getElementById('totalUsers').textContent = stats.total;
+        document.getElementById('totalCustomers').textContent = stats.byUserType.CUSTOMER || 0;
+        document.getElementById('totalSellers').textContent = stats.byUserType.SELLER || 0;
+        document.getElementById('totalAdmins').textContent = stats.byUserType.ADMIN || 0;
         
     } catch (error) {
         console.error('Erro ao buscar estatísticas completas:', error);
     }
 }
-